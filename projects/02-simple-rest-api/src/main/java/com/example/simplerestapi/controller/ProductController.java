@@ -1,38 +1,97 @@
 package com.example.simplerestapi.controller;
 
+import com.example.simplerestapi.model.MultiGetResponse;
 import com.example.simplerestapi.model.Product;
+import com.example.simplerestapi.patch.InvalidPatchException;
+import com.example.simplerestapi.patch.ProductMergePatch;
+import com.example.simplerestapi.store.ProductStore;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import javax.validation.Valid;
+import javax.validation.Validator;
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.Optional;
 import java.util.concurrent.atomic.AtomicLong;
 
 @RestController
 @RequestMapping("/api/products")
 public class ProductController {
 
-    // In-memory storage for products
-    private final Map<Long, Product> productMap = new ConcurrentHashMap<>();
+    // Upper limit for the number of ids in one multi-get request
+    private static final int MAX_MULTI_GET_IDS = 1000;
+
+    // In-memory storage for products (see ProductStoreConfiguration)
+    private final ProductStore productStore;
     private final AtomicLong idGenerator = new AtomicLong(1);
 
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+
+    @Autowired
+    public ProductController(ProductStore productStore, ObjectMapper objectMapper, Validator validator) {
+        this.productStore = productStore;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+    }
+
     // GET all products
     @GetMapping
     public List<Product> getAllProducts() {
-        return new ArrayList<>(productMap.values());
+        return productStore.findAll();
     }
 
     // GET a specific product by ID
     @GetMapping("/{id}")
     public ResponseEntity<Product> getProductById(@PathVariable Long id) {
-        if (!productMap.containsKey(id)) {
-            return ResponseEntity.notFound().build();
+        return productStore.findById(id)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    // GET several products by ID: GET /api/products?ids=1,2,3
+    @GetMapping(params = "ids")
+    public ResponseEntity<MultiGetResponse> getProductsByIds(@RequestParam List<Long> ids) {
+        return multiGet(ids);
+    }
+
+    // POST a JSON array of ids to get several products (for long lists)
+    @PostMapping("/multi-get")
+    public ResponseEntity<MultiGetResponse> getProductsByIdsInBody(@RequestBody List<Long> ids) {
+        return multiGet(ids);
+    }
+
+    private ResponseEntity<MultiGetResponse> multiGet(List<Long> ids) {
+        if (ids.size() > MAX_MULTI_GET_IDS) {
+            throw new TooManyIdsException("At most " + MAX_MULTI_GET_IDS + " ids can be requested at once, got "
+                    + ids.size());
+        }
+
+        List<Product> products = new ArrayList<>();
+        List<Long> missingIds = new ArrayList<>();
+        for (Long id : new LinkedHashSet<>(ids)) {
+            if (id == null) {
+                continue;
+            }
+            Optional<Product> product = productStore.findById(id);
+            if (product.isPresent()) {
+                products.add(product.get());
+            } else {
+                missingIds.add(id);
+            }
         }
-        return ResponseEntity.ok(productMap.get(id));
+
+        return ResponseEntity.ok(new MultiGetResponse(products, missingIds));
     }
 
     // POST a new product
@@ -43,7 +102,7 @@ public class ProductController {
         product.setId(newId);
         
         // Save the product
-        productMap.put(newId, product);
+        productStore.save(product);
         
         // Return 201 Created with the new product
         return ResponseEntity.status(HttpStatus.CREATED).body(product);
@@ -55,7 +114,7 @@ public class ProductController {
             @PathVariable Long id,
             @Valid @RequestBody Product product) {
         
-        if (!productMap.containsKey(id)) {
+        if (!productStore.existsById(id)) {
             return ResponseEntity.notFound().build();
         }
         
@@ -63,7 +122,7 @@ public class ProductController {
         product.setId(id);
         
         // Update the product
-        productMap.put(id, product);
+        productStore.save(product);
         
         return ResponseEntity.ok(product);
     }
@@ -71,41 +130,33 @@ public class ProductController {
     // DELETE a product
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteProduct(@PathVariable Long id) {
-        if (!productMap.containsKey(id)) {
+        if (!productStore.deleteById(id)) {
             return ResponseEntity.notFound().build();
         }
         
-        productMap.remove(id);
         return ResponseEntity.noContent().build();
     }
     
-    // PATCH a product (partial update)
-    @PatchMapping("/{id}")
+    // PATCH a product (partial update) with JSON Merge Patch semantics
+    @PatchMapping(value = "/{id}", consumes = {ProductMergePatch.MEDIA_TYPE, MediaType.APPLICATION_JSON_VALUE})
     public ResponseEntity<Product> partialUpdateProduct(
             @PathVariable Long id,
-            @RequestBody Map<String, Object> updates) {
+            InputStream body) throws IOException {
         
-        if (!productMap.containsKey(id)) {
+        Optional<Product> existing = productStore.findById(id);
+        if (existing.isEmpty()) {
             return ResponseEntity.notFound().build();
         }
         
-        Product product = productMap.get(id);
-        
-        // Apply partial updates
-        if (updates.containsKey("name")) {
-            product.setName((String) updates.get("name"));
-        }
-        
-        if (updates.containsKey("description")) {
-            product.setDescription((String) updates.get("description"));
-        }
+        ProductMergePatch patch = ProductMergePatch.read(objectMapper.getFactory(), body);
         
-        if (updates.containsKey("price")) {
-            product.setPrice(((Number) updates.get("price")).doubleValue());
-        }
+        // Patch a copy so a rejected patch leaves the stored product untouched
+        Product current = existing.get();
+        Product product = new Product(id, current.getName(), current.getDescription(), current.getPrice());
+        patch.applyTo(product, validator);
         
         // Save the updated product
-        productMap.put(id, product);
+        productStore.save(product);
         
         return ResponseEntity.ok(product);
     }
@@ -113,14 +164,31 @@ public class ProductController {
     // Search products by name (demonstrates request parameters)
     @GetMapping("/search")
     public List<Product> searchProducts(@RequestParam String name) {
-        List<Product> results = new ArrayList<>();
-        
-        for (Product product : productMap.values()) {
-            if (product.getName().toLowerCase().contains(name.toLowerCase())) {
-                results.add(product);
-            }
-        }
+        return productStore.findByNameContainingIgnoreCase(name);
+    }
+
+    // Get products by price range
+    @GetMapping("/price-range")
+    public List<Product> getProductsByPriceRange(
+            @RequestParam double min,
+            @RequestParam double max) {
         
-        return results;
+        return productStore.findByPriceBetween(min, max);
+    }
+
+    // Handle multi-get requests over the id limit
+    @ExceptionHandler(TooManyIdsException.class)
+    public ResponseEntity<Map<String, String>> handleTooManyIdsException(TooManyIdsException e) {
+        Map<String, String> error = new HashMap<>();
+        error.put("message", e.getMessage());
+        return ResponseEntity.badRequest().body(error);
+    }
+
+    // Handle malformed or invalid merge patches
+    @ExceptionHandler(InvalidPatchException.class)
+    public ResponseEntity<Map<String, String>> handleInvalidPatchException(InvalidPatchException e) {
+        Map<String, String> error = new HashMap<>();
+        error.put("message", e.getMessage());
+        return ResponseEntity.badRequest().body(error);
     }
 }
\ No newline at end of file
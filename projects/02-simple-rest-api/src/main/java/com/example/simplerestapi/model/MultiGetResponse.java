@@ -0,0 +1,20 @@
+package com.example.simplerestapi.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+// Result of looking up several products by ID at once
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MultiGetResponse {
+    
+    // Products that were found, in the order their ids were requested
+    private List<Product> products;
+    
+    // Requested ids that do not exist
+    private List<Long> missingIds;
+}
@@ -0,0 +1,9 @@
+package com.example.simplerestapi.patch;
+
+// Thrown when a merge patch is malformed or would leave the product invalid
+public class InvalidPatchException extends RuntimeException {
+    
+    public InvalidPatchException(String message) {
+        super(message);
+    }
+}
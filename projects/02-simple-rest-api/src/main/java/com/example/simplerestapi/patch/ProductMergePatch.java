@@ -0,0 +1,113 @@
+package com.example.simplerestapi.patch;
+
+import com.example.simplerestapi.model.Product;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+// A JSON Merge Patch (RFC 7386, application/merge-patch+json) for a Product.
+// The request body is read token by token straight into typed fields, so no Map,
+// boxed numbers or casts are needed. A member set to null removes the value;
+// members that are not Product fields (including "id") are ignored.
+public class ProductMergePatch {
+    
+    public static final String MEDIA_TYPE = "application/merge-patch+json";
+    
+    private String name;
+    private boolean nameSet;
+    
+    private String description;
+    private boolean descriptionSet;
+    
+    private double price;
+    private boolean priceSet;
+    
+    // Read a merge patch document from the request body
+    public static ProductMergePatch read(JsonFactory jsonFactory, InputStream body) throws IOException {
+        try (JsonParser parser = jsonFactory.createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new InvalidPatchException("Merge patch must be a JSON object");
+            }
+            
+            ProductMergePatch patch = new ProductMergePatch();
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.getCurrentName();
+                JsonToken value = parser.nextToken();
+                switch (field) {
+                    case "name":
+                        patch.name = text(parser, value, field);
+                        patch.nameSet = true;
+                        break;
+                    case "description":
+                        patch.description = text(parser, value, field);
+                        patch.descriptionSet = true;
+                        break;
+                    case "price":
+                        patch.price = number(parser, value, field);
+                        patch.priceSet = true;
+                        break;
+                    default:
+                        parser.skipChildren();
+                }
+            }
+            return patch;
+        } catch (JsonProcessingException e) {
+            throw new InvalidPatchException("Malformed merge patch: " + e.getOriginalMessage());
+        }
+    }
+    
+    // Copy the patched fields onto the product and validate only those fields.
+    // Returns the names of the fields that were changed.
+    public List<String> applyTo(Product product, Validator validator) {
+        List<String> changed = new ArrayList<>(3);
+        if (nameSet) {
+            product.setName(name);
+            changed.add("name");
+        }
+        if (descriptionSet) {
+            product.setDescription(description);
+            changed.add("description");
+        }
+        if (priceSet) {
+            product.setPrice(price);
+            changed.add("price");
+        }
+        
+        for (String field : changed) {
+            Set<ConstraintViolation<Product>> violations = validator.validateProperty(product, field);
+            if (!violations.isEmpty()) {
+                throw new InvalidPatchException(violations.iterator().next().getMessage());
+            }
+        }
+        return changed;
+    }
+    
+    private static String text(JsonParser parser, JsonToken value, String field) throws IOException {
+        if (value == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        if (value != JsonToken.VALUE_STRING) {
+            throw new InvalidPatchException(field + " must be a string");
+        }
+        return parser.getText();
+    }
+    
+    private static double number(JsonParser parser, JsonToken value, String field) throws IOException {
+        if (value == JsonToken.VALUE_NULL) {
+            throw new InvalidPatchException(field + " cannot be removed");
+        }
+        if (value != JsonToken.VALUE_NUMBER_INT && value != JsonToken.VALUE_NUMBER_FLOAT) {
+            throw new InvalidPatchException(field + " must be a number");
+        }
+        return parser.getDoubleValue();
+    }
+}
@@ -0,0 +1,212 @@
+package com.example.simplerestapi.store;
+
+import com.example.simplerestapi.model.Product;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// Memory-compact store for very large catalogs (app.product-store=columnar).
+// Each product occupies one slot across parallel primitive arrays: ids and prices are
+// kept as long[] and double[], names and descriptions as refs into a deduplicating,
+// reference-counted StringPool, and ids are mapped to slots with a primitive hash map.
+// Product objects are only created for the results handed back to the caller.
+// Reads share a read lock; writes take the write lock.
+public class ColumnarProductStore implements ProductStore {
+    
+    private static final int INITIAL_CAPACITY = 1024;
+    
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final LongIntHashMap slotsById = new LongIntHashMap(INITIAL_CAPACITY);
+    private final StringPool strings = new StringPool();
+    
+    // Column per field; ids[slot] == 0 marks a free slot
+    private long[] ids = new long[INITIAL_CAPACITY];
+    private double[] prices = new double[INITIAL_CAPACITY];
+    private int[] nameRefs = new int[INITIAL_CAPACITY];
+    private int[] descriptionRefs = new int[INITIAL_CAPACITY];
+    
+    // Slots in use or freed so far, and freed slots available for reuse
+    private int slotCount;
+    private int[] freeSlots = new int[16];
+    private int freeCount;
+    
+    @Override
+    public Optional<Product> findById(long id) {
+        lock.readLock().lock();
+        try {
+            int slot = slotsById.get(id);
+            return slot == LongIntHashMap.MISSING ? Optional.empty() : Optional.of(materialize(slot));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    @Override
+    public boolean existsById(long id) {
+        lock.readLock().lock();
+        try {
+            return slotsById.get(id) != LongIntHashMap.MISSING;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    @Override
+    public Product save(Product product) {
+        long id = product.getId();
+        if (id == 0) {
+            // 0 marks free slots and empty hash buckets
+            throw new IllegalArgumentException("Product id 0 is not supported by the columnar store");
+        }
+        lock.writeLock().lock();
+        try {
+            // Intern the new strings before releasing the old ones, so an unchanged
+            // string keeps its place in the pool
+            int nameRef = strings.intern(product.getName());
+            int descriptionRef = strings.intern(product.getDescription());
+            
+            int slot = slotsById.get(id);
+            if (slot == LongIntHashMap.MISSING) {
+                slot = allocateSlot();
+                ids[slot] = id;
+                slotsById.put(id, slot);
+            } else {
+                strings.release(nameRefs[slot]);
+                strings.release(descriptionRefs[slot]);
+            }
+            prices[slot] = product.getPrice();
+            nameRefs[slot] = nameRef;
+            descriptionRefs[slot] = descriptionRef;
+            return product;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    @Override
+    public boolean deleteById(long id) {
+        lock.writeLock().lock();
+        try {
+            int slot = slotsById.remove(id);
+            if (slot == LongIntHashMap.MISSING) {
+                return false;
+            }
+            ids[slot] = 0;
+            strings.release(nameRefs[slot]);
+            strings.release(descriptionRefs[slot]);
+            if (freeCount == freeSlots.length) {
+                freeSlots = Arrays.copyOf(freeSlots, freeCount * 2);
+            }
+            freeSlots[freeCount++] = slot;
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    @Override
+    public List<Product> findAll() {
+        lock.readLock().lock();
+        try {
+            List<Product> results = new ArrayList<>(slotsById.size());
+            for (int slot = 0; slot < slotCount; slot++) {
+                if (ids[slot] != 0) {
+                    results.add(materialize(slot));
+                }
+            }
+            return results;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    @Override
+    public List<Product> findByNameContainingIgnoreCase(String name) {
+        String fragment = name.toLowerCase();
+        lock.readLock().lock();
+        try {
+            List<Product> results = new ArrayList<>();
+            for (int slot = 0; slot < slotCount; slot++) {
+                if (ids[slot] != 0 && strings.get(nameRefs[slot]).toLowerCase().contains(fragment)) {
+                    results.add(materialize(slot));
+                }
+            }
+            return results;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    @Override
+    public List<Product> findByPriceBetween(double minPrice, double maxPrice) {
+        lock.readLock().lock();
+        try {
+            // Scans only the price column; products are built just for the matches
+            List<Product> results = new ArrayList<>();
+            for (int slot = 0; slot < slotCount; slot++) {
+                double price = prices[slot];
+                if (price >= minPrice && price <= maxPrice && ids[slot] != 0) {
+                    results.add(materialize(slot));
+                }
+            }
+            return results;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    @Override
+    public long count() {
+        lock.readLock().lock();
+        try {
+            return slotsById.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    // Approximate heap used by the store's arrays, for comparing with the map store
+    public long estimatedBytes() {
+        lock.readLock().lock();
+        try {
+            return ids.length * (long) (Long.BYTES + Double.BYTES + Integer.BYTES + Integer.BYTES)
+                    + freeSlots.length * (long) Integer.BYTES
+                    + slotsById.estimatedBytes()
+                    + strings.estimatedBytes();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    // Bytes of name and description data still referenced by stored products
+    long stringBytes() {
+        lock.readLock().lock();
+        try {
+            return strings.liveBytes();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    private Product materialize(int slot) {
+        return new Product(ids[slot], strings.get(nameRefs[slot]), strings.get(descriptionRefs[slot]), prices[slot]);
+    }
+    
+    private int allocateSlot() {
+        if (freeCount > 0) {
+            return freeSlots[--freeCount];
+        }
+        if (slotCount == ids.length) {
+            int capacity = ids.length * 2;
+            ids = Arrays.copyOf(ids, capacity);
+            prices = Arrays.copyOf(prices, capacity);
+            nameRefs = Arrays.copyOf(nameRefs, capacity);
+            descriptionRefs = Arrays.copyOf(descriptionRefs, capacity);
+        }
+        return slotCount++;
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.simplerestapi.store;
+
+// Open-addressing long -> int map with linear probing, so ids need no Long objects or map nodes.
+// Key 0 marks an empty bucket: it cannot be stored and is never found. Not thread-safe.
+final class LongIntHashMap {
+    
+    static final int MISSING = -1;
+    
+    private long[] keys;
+    private int[] values;
+    private int mask;
+    private int size;
+    
+    LongIntHashMap(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(16, expectedSize * 2) - 1) << 1;
+        allocate(capacity);
+    }
+    
+    int get(long key) {
+        if (key == 0) {
+            return MISSING;
+        }
+        for (int i = bucket(key); ; i = (i + 1) & mask) {
+            if (keys[i] == key) {
+                return values[i];
+            }
+            if (keys[i] == 0) {
+                return MISSING;
+            }
+        }
+    }
+    
+    void put(long key, int value) {
+        if (key == 0) {
+            throw new IllegalArgumentException("Key 0 is reserved");
+        }
+        if ((size + 1) * 2 > keys.length) {
+            resize(keys.length * 2);
+        }
+        int i = bucket(key);
+        while (keys[i] != 0 && keys[i] != key) {
+            i = (i + 1) & mask;
+        }
+        if (keys[i] == 0) {
+            size++;
+        }
+        keys[i] = key;
+        values[i] = value;
+    }
+    
+    // Remove a key and return its value, or MISSING
+    int remove(long key) {
+        if (key == 0) {
+            return MISSING;
+        }
+        int i = bucket(key);
+        while (keys[i] != key) {
+            if (keys[i] == 0) {
+                return MISSING;
+            }
+            i = (i + 1) & mask;
+        }
+        int removed = values[i];
+        size--;
+        
+        // Shift later entries of the probe chain back so lookups don't stop at the hole
+        int hole = i;
+        for (int j = (i + 1) & mask; keys[j] != 0; j = (j + 1) & mask) {
+            int home = bucket(keys[j]);
+            boolean stays = hole <= j ? hole < home && home <= j : hole < home || home <= j;
+            if (!stays) {
+                keys[hole] = keys[j];
+                values[hole] = values[j];
+                hole = j;
+            }
+        }
+        keys[hole] = 0;
+        return removed;
+    }
+    
+    int size() {
+        return size;
+    }
+    
+    long estimatedBytes() {
+        return keys.length * (long) Long.BYTES + values.length * (long) Integer.BYTES;
+    }
+    
+    private int bucket(long key) {
+        long hash = key * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32)) & mask;
+    }
+    
+    private void resize(int capacity) {
+        long[] oldKeys = keys;
+        int[] oldValues = values;
+        allocate(capacity);
+        size = 0;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != 0) {
+                put(oldKeys[i], oldValues[i]);
+            }
+        }
+    }
+    
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new int[capacity];
+        mask = capacity - 1;
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.simplerestapi.store;
+
+import com.example.simplerestapi.model.Product;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Keeps Product objects in a ConcurrentHashMap (the default store)
+public class MapProductStore implements ProductStore {
+    
+    private final Map<Long, Product> productMap = new ConcurrentHashMap<>();
+    
+    @Override
+    public Optional<Product> findById(long id) {
+        return Optional.ofNullable(productMap.get(id));
+    }
+    
+    @Override
+    public boolean existsById(long id) {
+        return productMap.containsKey(id);
+    }
+    
+    @Override
+    public Product save(Product product) {
+        productMap.put(product.getId(), product);
+        return product;
+    }
+    
+    @Override
+    public boolean deleteById(long id) {
+        return productMap.remove(id) != null;
+    }
+    
+    @Override
+    public List<Product> findAll() {
+        return new ArrayList<>(productMap.values());
+    }
+    
+    @Override
+    public List<Product> findByNameContainingIgnoreCase(String name) {
+        String fragment = name.toLowerCase();
+        List<Product> results = new ArrayList<>();
+        for (Product product : productMap.values()) {
+            if (product.getName().toLowerCase().contains(fragment)) {
+                results.add(product);
+            }
+        }
+        return results;
+    }
+    
+    @Override
+    public List<Product> findByPriceBetween(double minPrice, double maxPrice) {
+        List<Product> results = new ArrayList<>();
+        for (Product product : productMap.values()) {
+            if (product.getPrice() >= minPrice && product.getPrice() <= maxPrice) {
+                results.add(product);
+            }
+        }
+        return results;
+    }
+    
+    @Override
+    public long count() {
+        return productMap.size();
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.simplerestapi.store;
+
+import com.example.simplerestapi.model.Product;
+
+import java.util.List;
+import java.util.Optional;
+
+// Storage engine behind the ProductController, selected with app.product-store
+public interface ProductStore {
+    
+    // Find a product by ID
+    Optional<Product> findById(long id);
+    
+    // Check whether a product exists
+    boolean existsById(long id);
+    
+    // Insert or replace the product with the product's ID
+    Product save(Product product);
+    
+    // Remove a product; returns false if it did not exist
+    boolean deleteById(long id);
+    
+    // All products
+    List<Product> findAll();
+    
+    // Products whose name contains the given text (case insensitive)
+    List<Product> findByNameContainingIgnoreCase(String name);
+    
+    // Products with a price between min and max (inclusive)
+    List<Product> findByPriceBetween(double minPrice, double maxPrice);
+    
+    // Number of stored products
+    long count();
+}
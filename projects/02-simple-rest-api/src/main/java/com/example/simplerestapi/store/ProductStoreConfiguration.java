@@ -0,0 +1,24 @@
+package com.example.simplerestapi.store;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+// Chooses the product storage engine with app.product-store (map or columnar)
+@Configuration
+public class ProductStoreConfiguration {
+    
+    // Product objects in a ConcurrentHashMap (default)
+    @Bean
+    @ConditionalOnProperty(name = "app.product-store", havingValue = "map", matchIfMissing = true)
+    public ProductStore mapProductStore() {
+        return new MapProductStore();
+    }
+    
+    // Primitive columns and a shared string pool, for catalogs with millions of products
+    @Bean
+    @ConditionalOnProperty(name = "app.product-store", havingValue = "columnar")
+    public ProductStore columnarProductStore() {
+        return new ColumnarProductStore();
+    }
+}
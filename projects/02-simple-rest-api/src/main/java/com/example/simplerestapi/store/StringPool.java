@@ -0,0 +1,220 @@
+package com.example.simplerestapi.store;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+// Reference-counted pool of deduplicated strings, stored as UTF-8 bytes in one shared array.
+// Each distinct string is kept once and referred to by an int; strings are only decoded
+// back into String objects when asked for. Every intern() must be matched by a release()
+// once the caller stops using the ref. Strings nobody refers to any more are dropped, and
+// their bytes are reclaimed by compacting the array before it would have to grow.
+// Live string data is limited to about 2 GB (one byte array). Not thread-safe.
+final class StringPool {
+    
+    static final int NULL_REF = -1;
+    
+    // Largest array size the JVM reliably allows
+    private static final int MAX_DATA_SIZE = Integer.MAX_VALUE - 8;
+    
+    private byte[] data = new byte[4096];
+    private int dataSize;
+    
+    // Bytes in data that belong to released strings
+    private int deadBytes;
+    
+    // Per ref: where its bytes are, and how many references are held (0 = free ref)
+    private int[] offsets = new int[256];
+    private int[] lengths = new int[256];
+    private int[] refCounts = new int[256];
+    
+    // Refs handed out so far, and released refs available for reuse
+    private int refLimit;
+    private int[] freeRefs = new int[16];
+    private int freeCount;
+    
+    // Number of distinct strings in the pool
+    private int count;
+    
+    // Open-addressing index from content hash to ref + 1 (0 = empty bucket)
+    private int[] table = new int[512];
+    
+    // Return the ref for the string, adding it if it is not in the pool yet,
+    // and take one reference on it
+    int intern(String value) {
+        if (value == null) {
+            return NULL_REF;
+        }
+        
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        int mask = table.length - 1;
+        int i = hash(bytes, 0, bytes.length) & mask;
+        while (table[i] != 0) {
+            int ref = table[i] - 1;
+            if (Arrays.equals(data, offsets[ref], offsets[ref] + lengths[ref], bytes, 0, bytes.length)) {
+                refCounts[ref]++;
+                return ref;
+            }
+            i = (i + 1) & mask;
+        }
+        
+        int ref = append(bytes);
+        table[i] = ref + 1;
+        if (count * 2 > table.length) {
+            rehash(table.length * 2);
+        }
+        return ref;
+    }
+    
+    // Drop one reference; the string is removed when no references are left
+    void release(int ref) {
+        if (ref == NULL_REF) {
+            return;
+        }
+        if (--refCounts[ref] > 0) {
+            return;
+        }
+        
+        removeFromTable(ref);
+        deadBytes += lengths[ref];
+        count--;
+        if (freeCount == freeRefs.length) {
+            freeRefs = Arrays.copyOf(freeRefs, freeCount * 2);
+        }
+        freeRefs[freeCount++] = ref;
+    }
+    
+    // Decode a string; returns null for NULL_REF
+    String get(int ref) {
+        if (ref == NULL_REF) {
+            return null;
+        }
+        return new String(data, offsets[ref], lengths[ref], StandardCharsets.UTF_8);
+    }
+    
+    int size() {
+        return count;
+    }
+    
+    long estimatedBytes() {
+        return data.length
+                + offsets.length * (long) (3 * Integer.BYTES)
+                + freeRefs.length * (long) Integer.BYTES
+                + table.length * (long) Integer.BYTES;
+    }
+    
+    // Bytes of data held by strings that are still referenced
+    long liveBytes() {
+        return dataSize - deadBytes;
+    }
+    
+    private int append(byte[] bytes) {
+        if (dataSize + bytes.length > data.length) {
+            // Reclaim released strings first if that frees a worthwhile share of the array
+            if (deadBytes > 0 && (deadBytes >= data.length / 4 || data.length == MAX_DATA_SIZE)) {
+                compact();
+            }
+            if (dataSize + bytes.length > data.length) {
+                long capacity = Math.max(data.length * 2L, (long) dataSize + bytes.length);
+                if (capacity > MAX_DATA_SIZE) {
+                    if ((long) dataSize + bytes.length > MAX_DATA_SIZE) {
+                        throw new IllegalStateException("String pool is full");
+                    }
+                    capacity = MAX_DATA_SIZE;
+                }
+                data = Arrays.copyOf(data, (int) capacity);
+            }
+        }
+        
+        int ref = allocateRef();
+        System.arraycopy(bytes, 0, data, dataSize, bytes.length);
+        offsets[ref] = dataSize;
+        lengths[ref] = bytes.length;
+        refCounts[ref] = 1;
+        dataSize += bytes.length;
+        count++;
+        return ref;
+    }
+    
+    private int allocateRef() {
+        if (freeCount > 0) {
+            return freeRefs[--freeCount];
+        }
+        if (refLimit == offsets.length) {
+            int capacity = offsets.length * 2;
+            offsets = Arrays.copyOf(offsets, capacity);
+            lengths = Arrays.copyOf(lengths, capacity);
+            refCounts = Arrays.copyOf(refCounts, capacity);
+        }
+        return refLimit++;
+    }
+    
+    // Move the live strings to the front of data, in their current order. Refs stay the same.
+    private void compact() {
+        // Sort live refs by offset, packed as (offset << 32 | ref) to sort primitives
+        long[] order = new long[count];
+        int n = 0;
+        for (int ref = 0; ref < refLimit; ref++) {
+            if (refCounts[ref] > 0) {
+                order[n++] = (long) offsets[ref] << 32 | ref;
+            }
+        }
+        Arrays.sort(order, 0, n);
+        
+        int position = 0;
+        for (int k = 0; k < n; k++) {
+            int ref = (int) order[k];
+            System.arraycopy(data, offsets[ref], data, position, lengths[ref]);
+            offsets[ref] = position;
+            position += lengths[ref];
+        }
+        dataSize = position;
+        deadBytes = 0;
+    }
+    
+    // Remove a ref from the index, shifting later entries of its probe chain back
+    private void removeFromTable(int ref) {
+        int mask = table.length - 1;
+        int i = bucket(ref, mask);
+        while (table[i] != ref + 1) {
+            i = (i + 1) & mask;
+        }
+        
+        int hole = i;
+        for (int j = (i + 1) & mask; table[j] != 0; j = (j + 1) & mask) {
+            int home = bucket(table[j] - 1, mask);
+            boolean stays = hole <= j ? hole < home && home <= j : hole < home || home <= j;
+            if (!stays) {
+                table[hole] = table[j];
+                hole = j;
+            }
+        }
+        table[hole] = 0;
+    }
+    
+    private void rehash(int capacity) {
+        table = new int[capacity];
+        int mask = capacity - 1;
+        for (int ref = 0; ref < refLimit; ref++) {
+            if (refCounts[ref] == 0) {
+                continue;
+            }
+            int i = bucket(ref, mask);
+            while (table[i] != 0) {
+                i = (i + 1) & mask;
+            }
+            table[i] = ref + 1;
+        }
+    }
+    
+    private int bucket(int ref, int mask) {
+        return hash(data, offsets[ref], offsets[ref] + lengths[ref]) & mask;
+    }
+    
+    private static int hash(byte[] bytes, int from, int to) {
+        int hash = 1;
+        for (int i = from; i < to; i++) {
+            hash = 31 * hash + bytes[i];
+        }
+        return hash ^ (hash >>> 16);
+    }
+}
@@ -1,17 +1,24 @@
 package com.example.simplerestapi.controller;
 
 import com.example.simplerestapi.model.Product;
+import com.example.simplerestapi.store.ProductStoreConfiguration;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(ProductController.class)
+@Import(ProductStoreConfiguration.class)
 public class ProductControllerTests {
 
     @Autowired
@@ -70,5 +77,86 @@ public class ProductControllerTests {
                 .andExpect(status().isNotFound());
     }
     
+    @Test
+    public void testGetProductsByIds() throws Exception {
+        // Create two products
+        Long firstId = createProduct("First Product");
+        Long secondId = createProduct("Second Product");
+        
+        // Ask for both plus an id that does not exist
+        mockMvc.perform(get("/api/products").param("ids", secondId + "," + firstId + ",999"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.products.length()").value(2))
+                .andExpect(jsonPath("$.products[0].id").value(secondId))
+                .andExpect(jsonPath("$.products[1].id").value(firstId))
+                .andExpect(jsonPath("$.missingIds[0]").value(999));
+        
+        // Same lookup with the ids in the request body
+        mockMvc.perform(post("/api/products/multi-get")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[" + firstId + ", 999]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.products[0].name").value("First Product"))
+                .andExpect(jsonPath("$.missingIds[0]").value(999));
+    }
+    
+    @Test
+    public void testTooManyIdsIsRejected() throws Exception {
+        List<Long> ids = LongStream.rangeClosed(1, 1001).boxed().collect(Collectors.toList());
+        
+        mockMvc.perform(post("/api/products/multi-get")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(ids)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("At most 1000 ids can be requested at once, got 1001"));
+    }
+    
+    @Test
+    public void testPatchProductWithMergePatch() throws Exception {
+        Long productId = createProduct("Patched Product");
+        
+        // Change the price and remove the description; the name is left alone
+        mockMvc.perform(patch("/api/products/" + productId)
+                .contentType("application/merge-patch+json")
+                .content("{\"price\": 12.5, \"description\": null, \"unknown\": {\"a\": [1]}}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("Patched Product"))
+                .andExpect(jsonPath("$.price").value(12.5))
+                .andExpect(jsonPath("$.description").doesNotExist());
+    }
+    
+    @Test
+    public void testInvalidPatchIsRejected() throws Exception {
+        Long productId = createProduct("Unchanged Product");
+        
+        // Only the patched field is validated, and a rejected patch changes nothing
+        mockMvc.perform(patch("/api/products/" + productId)
+                .contentType("application/merge-patch+json")
+                .content("{\"name\": \"New name\", \"price\": -1}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Price must be positive"));
+        
+        mockMvc.perform(patch("/api/products/" + productId)
+                .contentType("application/merge-patch+json")
+                .content("{\"price\": \"cheap\"}"))
+                .andExpect(status().isBadRequest());
+        
+        mockMvc.perform(get("/api/products/" + productId))
+                .andExpect(jsonPath("$.name").value("Unchanged Product"))
+                .andExpect(jsonPath("$.price").value(9.99));
+    }
+    
+    private Long createProduct(String name) throws Exception {
+        String productJson = objectMapper.writeValueAsString(new Product(null, name, "Description", 9.99));
+        String createResult = mockMvc.perform(post("/api/products")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(productJson))
+                .andExpect(status().isCreated())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        return objectMapper.readValue(createResult, Product.class).getId();
+    }
+    
     // Additional tests for PUT, DELETE, PATCH, etc. would follow the same pattern
 }
\ No newline at end of file
@@ -0,0 +1,164 @@
+package com.example.simplerestapi.store;
+
+import com.example.simplerestapi.model.Product;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.util.List;
+import java.util.Random;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class ColumnarProductStoreTests {
+    
+    @Test
+    public void testSaveFindAndDelete() {
+        ColumnarProductStore store = new ColumnarProductStore();
+        store.save(new Product(1L, "Laptop", "Portable computer", 999.0));
+        store.save(new Product(2L, "Mouse", null, 25.0));
+        
+        assertThat(store.findById(1L)).contains(new Product(1L, "Laptop", "Portable computer", 999.0));
+        assertThat(store.findById(2L).get().getDescription()).isNull();
+        assertThat(store.findById(3L)).isEmpty();
+        
+        // Saving an existing id replaces the product in place
+        store.save(new Product(1L, "Laptop Pro", "Portable computer", 1299.0));
+        assertThat(store.findById(1L).get().getName()).isEqualTo("Laptop Pro");
+        assertThat(store.count()).isEqualTo(2);
+        
+        assertThat(store.deleteById(1L)).isTrue();
+        assertThat(store.deleteById(1L)).isFalse();
+        assertThat(store.existsById(1L)).isFalse();
+        assertThat(store.findAll()).extracting(Product::getId).containsExactly(2L);
+    }
+    
+    @Test
+    public void testIdZeroAndNegativeIds() {
+        ColumnarProductStore store = new ColumnarProductStore();
+        store.save(new Product(1L, "Laptop", "Portable computer", 999.0));
+        
+        // Id 0 is never stored, so it must not match an empty bucket or a free slot
+        assertThat(store.findById(0L)).isEmpty();
+        assertThat(store.existsById(0L)).isFalse();
+        assertThat(store.deleteById(0L)).isFalse();
+        assertThatThrownBy(() -> store.save(new Product(0L, "Mouse", null, 25.0)))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(store.findById(1L).get().getName()).isEqualTo("Laptop");
+        assertThat(store.count()).isEqualTo(1);
+        
+        store.save(new Product(-5L, "Keyboard", null, 45.0));
+        assertThat(store.findById(-5L).get().getName()).isEqualTo("Keyboard");
+        assertThat(store.findById(-6L)).isEmpty();
+        assertThat(store.deleteById(-5L)).isTrue();
+        assertThat(store.existsById(-5L)).isFalse();
+        assertThat(store.findById(1L)).isPresent();
+    }
+    
+    @Test
+    public void testScansAfterGrowthAndSlotReuse() {
+        ColumnarProductStore store = new ColumnarProductStore();
+        for (long id = 1; id <= 5000; id++) {
+            store.save(new Product(id, "Product " + id, "Shared description", id));
+        }
+        for (long id = 1; id <= 5000; id += 2) {
+            store.deleteById(id);
+        }
+        for (long id = 5001; id <= 5100; id++) {
+            store.save(new Product(id, "Product " + id, "Shared description", id));
+        }
+        
+        assertThat(store.count()).isEqualTo(2600);
+        assertThat(store.findByPriceBetween(100, 110)).extracting(Product::getId)
+                .containsExactlyInAnyOrder(100L, 102L, 104L, 106L, 108L, 110L);
+        assertThat(store.findByNameContainingIgnoreCase("PRODUCT 509")).extracting(Product::getId)
+                .containsExactlyInAnyOrder(5090L, 5091L, 5092L, 5093L, 5094L, 5095L, 5096L, 5097L, 5098L, 5099L);
+        for (long id = 2; id <= 5000; id += 2) {
+            assertThat(store.findById(id)).isPresent();
+        }
+    }
+    
+    @Test
+    public void testUpdatesAndDeletesReleaseStrings() {
+        ColumnarProductStore store = new ColumnarProductStore();
+        for (long id = 1; id <= 100; id++) {
+            store.save(new Product(id, "Product " + id, "Shared description", id));
+        }
+        long initialBytes = store.stringBytes();
+        long initialHeap = store.estimatedBytes();
+        
+        // Every update brings new names, which would grow an append-only pool without limit
+        for (int round = 1; round <= 2000; round++) {
+            for (long id = 1; id <= 100; id++) {
+                store.save(new Product(id, "Product " + id + " revision " + round, "Shared description", id));
+            }
+        }
+        for (long id = 1; id <= 100; id++) {
+            store.save(new Product(id, "Product " + id, "Shared description", id));
+        }
+        
+        assertThat(store.stringBytes()).isEqualTo(initialBytes);
+        assertThat(store.estimatedBytes()).isLessThan(initialHeap * 4);
+        assertThat(store.findById(42L).get())
+                .isEqualTo(new Product(42L, "Product 42", "Shared description", 42.0));
+        assertThat(store.findByNameContainingIgnoreCase("product 10")).extracting(Product::getId)
+                .containsExactlyInAnyOrder(10L, 100L);
+        
+        // The shared description stays until its last product is deleted
+        for (long id = 1; id <= 99; id++) {
+            store.deleteById(id);
+        }
+        assertThat(store.findById(100L).get().getDescription()).isEqualTo("Shared description");
+        store.deleteById(100L);
+        assertThat(store.stringBytes()).isZero();
+    }
+    
+    // mvn test -Dtest=ColumnarProductStoreTests -Dstore.benchmark.products=5000000
+    @Test
+    @EnabledIfSystemProperty(named = "store.benchmark.products", matches = "\\d+")
+    public void benchmarkAgainstMapStore() {
+        int products = Integer.parseInt(System.getProperty("store.benchmark.products"));
+        
+        for (Supplier<ProductStore> factory : List.<Supplier<ProductStore>>of(
+                MapProductStore::new, ColumnarProductStore::new)) {
+            long before = usedHeap();
+            ProductStore store = factory.get();
+            fill(store, products);
+            long bytes = usedHeap() - before;
+            
+            long start = System.nanoTime();
+            int matches = 0;
+            int scans = 20;
+            for (int i = 0; i < scans; i++) {
+                matches += store.findByPriceBetween(100 + i, 100.5 + i).size();
+            }
+            double scanMillis = (System.nanoTime() - start) / 1e6 / scans;
+            
+            System.out.printf("%s: %d products, %.1f bytes/product, price-range scan %.1f ms (%.0f M products/sec, %d matches)%n",
+                    store.getClass().getSimpleName(), store.count(), (double) bytes / products,
+                    scanMillis, products / scanMillis / 1000, matches / scans);
+        }
+    }
+    
+    // Realistic-looking catalog: unique names, descriptions from a small set
+    private static void fill(ProductStore store, int products) {
+        Random random = new Random(42);
+        String[] descriptions = new String[100];
+        for (int i = 0; i < descriptions.length; i++) {
+            descriptions[i] = "Description of product line " + i;
+        }
+        for (long id = 1; id <= products; id++) {
+            store.save(new Product(id, "Product " + id,
+                    new String(descriptions[random.nextInt(descriptions.length)]), 1 + random.nextInt(100_000) / 100.0));
+        }
+    }
+    
+    private static long usedHeap() {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        Runtime runtime = Runtime.getRuntime();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.dbintegration.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+// Settings for bulk catalog imports (app.import.*)
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.import")
+public class ImportProperties {
+    
+    // Optional CSV/NDJSON file to import on startup
+    private String file;
+    
+    // Size of the file region each worker parses and loads at once
+    private DataSize chunkSize = DataSize.ofMegabytes(8);
+    
+    // Rows per JDBC batch
+    private int batchSize = 5000;
+    
+    // Number of chunks parsed and loaded in parallel
+    private int parallelism = 4;
+}
@@ -0,0 +1,44 @@
+package com.example.dbintegration.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+// Settings for spreading products across several databases (app.sharding.*)
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.sharding")
+public class ShardingProperties {
+    
+    // When false, products stay in the primary datasource
+    private boolean enabled = false;
+    
+    // How new products are assigned to a shard
+    private Strategy strategy = Strategy.ID;
+    
+    // One JDBC URL per shard; the order must not change once data has been written
+    private List<String> urls = new ArrayList<>();
+    
+    private String username = "sa";
+    
+    private String password = "";
+    
+    // Threads used to query all shards in parallel
+    private int fanOutThreads = 8;
+    
+    // Maximum time to wait for all shards to answer a fan-out query
+    private Duration queryTimeout = Duration.ofSeconds(5);
+    
+    public enum Strategy {
+        
+        // Spread products evenly over the shards
+        ID,
+        
+        // Keep all products of a category on the same shard
+        CATEGORY
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.dbintegration.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+// Settings for coalescing concurrent identical read queries (app.single-flight.*)
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.single-flight")
+public class SingleFlightProperties {
+    
+    // GET /api/products/{id}
+    private Query byId = new Query();
+    
+    // GET /api/products/search?name=
+    private Query search = new Query();
+    
+    // GET /api/products/price-range
+    private Query priceRange = new Query();
+    
+    @Data
+    public static class Query {
+        
+        // Whether concurrent identical calls share one database query
+        private boolean enabled = true;
+        
+        // How long a waiting caller follows the in-flight query before querying on its own
+        private Duration timeout = Duration.ofSeconds(2);
+    }
+}
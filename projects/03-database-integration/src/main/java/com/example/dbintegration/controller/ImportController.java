@@ -0,0 +1,29 @@
+package com.example.dbintegration.controller;
+
+import com.example.dbintegration.importer.ImportStatus;
+import com.example.dbintegration.importer.ProductImportRunner;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Optional;
+
+@RestController
+@RequestMapping("/api/import")
+public class ImportController {
+    
+    // Present only when app.import.file is set
+    private final ProductImportRunner importRunner;
+    
+    @Autowired
+    public ImportController(Optional<ProductImportRunner> importRunner) {
+        this.importRunner = importRunner.orElse(null);
+    }
+    
+    // Status of the startup import, e.g. for load tests that wait until the catalog is loaded
+    @GetMapping("/status")
+    public ImportStatus getImportStatus() {
+        return importRunner != null ? importRunner.getStatus() : new ImportStatus(ImportStatus.State.NONE, 0, 0);
+    }
+}
@@ -1,17 +1,25 @@
 package com.example.dbintegration.controller;
 
+import com.example.dbintegration.model.MultiGetResponse;
 import com.example.dbintegration.model.Product;
+import com.example.dbintegration.patch.InvalidPatchException;
+import com.example.dbintegration.patch.ProductMergePatch;
 import com.example.dbintegration.service.ProductService;
+import com.example.dbintegration.sharding.CrossShardCategoryChangeException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import javax.persistence.EntityNotFoundException;
 import javax.validation.Valid;
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -20,11 +28,16 @@ import java.util.Map;
 @RequestMapping("/api/products")
 public class ProductController {
     
+    // Upper limit for the number of ids in one multi-get request
+    private static final int MAX_MULTI_GET_IDS = 1000;
+    
     private final ProductService productService;
+    private final ObjectMapper objectMapper;
     
     @Autowired
-    public ProductController(ProductService productService) {
+    public ProductController(ProductService productService, ObjectMapper objectMapper) {
         this.productService = productService;
+        this.objectMapper = objectMapper;
     }
     
     // Get all products
@@ -44,6 +57,26 @@ public class ProductController {
         }
     }
     
+    // Get several products by ID: GET /api/products?ids=1,2,3
+    @GetMapping(params = "ids")
+    public ResponseEntity<MultiGetResponse> getProductsByIds(@RequestParam List<Long> ids) {
+        return multiGet(ids);
+    }
+    
+    // Get several products by ID, with the ids as a JSON array in the body (for long lists)
+    @PostMapping("/multi-get")
+    public ResponseEntity<MultiGetResponse> getProductsByIdsInBody(@RequestBody List<Long> ids) {
+        return multiGet(ids);
+    }
+    
+    private ResponseEntity<MultiGetResponse> multiGet(List<Long> ids) {
+        if (ids.size() > MAX_MULTI_GET_IDS) {
+            throw new TooManyIdsException("At most " + MAX_MULTI_GET_IDS + " ids can be requested at once, got "
+                    + ids.size());
+        }
+        return ResponseEntity.ok(productService.getProductsByIds(ids));
+    }
+    
     // Create a new product
     @PostMapping
     public ResponseEntity<Product> createProduct(
@@ -69,6 +102,24 @@ public class ProductController {
         }
     }
     
+    // Partially update a product with JSON Merge Patch semantics
+    @PatchMapping(value = "/{id}", consumes = {ProductMergePatch.MEDIA_TYPE, MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<Product> patchProduct(
+            @PathVariable Long id,
+            InputStream body,
+            @RequestParam(required = false) Long categoryId) throws IOException {
+        
+        // Read the body before the service opens a transaction
+        ProductMergePatch patch = ProductMergePatch.read(objectMapper.getFactory(), body);
+        
+        try {
+            Product updatedProduct = productService.patchProduct(id, patch, categoryId);
+            return ResponseEntity.ok(updatedProduct);
+        } catch (EntityNotFoundException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+    
     // Delete a product
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteProduct(@PathVariable Long id) {
@@ -131,4 +182,29 @@ public class ProductController {
         error.put("message", e.getMessage());
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(error);
     }
+    
+    // Handle multi-get requests over the id limit
+    @ExceptionHandler(TooManyIdsException.class)
+    public ResponseEntity<Map<String, String>> handleTooManyIdsException(TooManyIdsException e) {
+        Map<String, String> error = new HashMap<>();
+        error.put("message", e.getMessage());
+        return ResponseEntity.badRequest().body(error);
+    }
+    
+    // Handle malformed or invalid merge patches
+    @ExceptionHandler(InvalidPatchException.class)
+    public ResponseEntity<Map<String, String>> handleInvalidPatchException(InvalidPatchException e) {
+        Map<String, String> error = new HashMap<>();
+        error.put("message", e.getMessage());
+        return ResponseEntity.badRequest().body(error);
+    }
+    
+    // Handle category changes that would move a sharded product to another shard
+    @ExceptionHandler(CrossShardCategoryChangeException.class)
+    public ResponseEntity<Map<String, String>> handleCrossShardCategoryChangeException(
+            CrossShardCategoryChangeException e) {
+        Map<String, String> error = new HashMap<>();
+        error.put("message", e.getMessage());
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(error);
+    }
 }
\ No newline at end of file
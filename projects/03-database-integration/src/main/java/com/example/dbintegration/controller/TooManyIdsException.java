@@ -0,0 +1,9 @@
+package com.example.dbintegration.controller;
+
+// Thrown when a multi-get request asks for more ids than one request may contain
+public class TooManyIdsException extends RuntimeException {
+    
+    public TooManyIdsException(String message) {
+        super(message);
+    }
+}
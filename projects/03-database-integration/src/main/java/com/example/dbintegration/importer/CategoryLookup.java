@@ -0,0 +1,51 @@
+package com.example.dbintegration.importer;
+
+import com.example.dbintegration.model.Category;
+import com.example.dbintegration.repository.CategoryRepository;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Resolves category names to ids from a map loaded once per import, instead of
+// one findByNameIgnoreCase query per row. Unknown categories are created on first use.
+// Known names are looked up without locking; creating a category takes a lock on this
+// lookup, but never on the map, so workers resolving other names are not held up.
+class CategoryLookup {
+    
+    private final CategoryRepository categoryRepository;
+    private final Map<String, Long> idsByName = new ConcurrentHashMap<>();
+    
+    CategoryLookup(CategoryRepository categoryRepository) {
+        this.categoryRepository = categoryRepository;
+        for (Category category : categoryRepository.findAll()) {
+            idsByName.put(key(category.getName()), category.getId());
+        }
+    }
+    
+    // Category id for the given name, or null if the row has no category
+    Long resolve(String name) {
+        if (name == null || name.isBlank()) {
+            return null;
+        }
+        String key = key(name);
+        Long id = idsByName.get(key);
+        return id != null ? id : createCategory(key, name.trim());
+    }
+    
+    // Serialized so parallel chunks that meet the same new name create it only once
+    private synchronized Long createCategory(String key, String name) {
+        Long id = idsByName.get(key);
+        if (id == null) {
+            Category category = new Category();
+            category.setName(name);
+            id = categoryRepository.save(category).getId();
+            idsByName.put(key, id);
+        }
+        return id;
+    }
+    
+    private static String key(String name) {
+        return name.trim().toLowerCase(Locale.ROOT);
+    }
+}
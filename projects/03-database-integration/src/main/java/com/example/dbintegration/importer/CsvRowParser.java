@@ -0,0 +1,99 @@
+package com.example.dbintegration.importer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+// Parses CSV lines using the column order given by the header row.
+// Fields may be quoted to contain commas and doubled quotes, but not line breaks.
+class CsvRowParser implements RowParser {
+    
+    private final int nameIndex;
+    private final int descriptionIndex;
+    private final int priceIndex;
+    private final int stockQuantityIndex;
+    private final int categoryIndex;
+    
+    CsvRowParser(String headerLine) {
+        char[] chars = headerLine.toCharArray();
+        List<String> columns = fields(chars, 0, chars.length);
+        for (int i = 0; i < columns.size(); i++) {
+            columns.set(i, columns.get(i).trim().replace("_", "").toLowerCase(Locale.ROOT));
+        }
+        
+        this.nameIndex = columns.indexOf("name");
+        this.descriptionIndex = columns.indexOf("description");
+        this.priceIndex = columns.indexOf("price");
+        this.stockQuantityIndex = columns.indexOf("stockquantity");
+        this.categoryIndex = columns.contains("category") ?
+                columns.indexOf("category") : columns.indexOf("categoryname");
+        
+        if (nameIndex < 0 || priceIndex < 0) {
+            throw new IllegalArgumentException("CSV header must contain name and price columns: " + headerLine);
+        }
+    }
+    
+    @Override
+    public ProductRow parse(char[] chars, int from, int to) {
+        List<String> fields = fields(chars, from, to);
+        
+        ProductRow row = new ProductRow();
+        row.setName(field(fields, nameIndex));
+        row.setDescription(field(fields, descriptionIndex));
+        row.setCategoryName(field(fields, categoryIndex));
+        
+        String price = field(fields, priceIndex);
+        row.setPrice(price == null ? 0 : Double.parseDouble(price.trim()));
+        
+        String stockQuantity = field(fields, stockQuantityIndex);
+        row.setStockQuantity(stockQuantity == null ? 0 : Integer.parseInt(stockQuantity.trim()));
+        
+        return row;
+    }
+    
+    // Value of a column, or null if the column is absent or empty
+    private static String field(List<String> fields, int index) {
+        if (index < 0 || index >= fields.size() || fields.get(index).isEmpty()) {
+            return null;
+        }
+        return fields.get(index);
+    }
+    
+    // Split one CSV line into its fields
+    static List<String> fields(char[] chars, int from, int to) {
+        List<String> fields = new ArrayList<>(8);
+        int i = from;
+        while (true) {
+            if (i < to && chars[i] == '"') {
+                StringBuilder field = new StringBuilder();
+                i++;
+                while (i < to) {
+                    char c = chars[i++];
+                    if (c != '"') {
+                        field.append(c);
+                    } else if (i < to && chars[i] == '"') {
+                        field.append('"');
+                        i++;
+                    } else {
+                        break;
+                    }
+                }
+                fields.add(field.toString());
+                while (i < to && chars[i] != ',') {
+                    i++;
+                }
+            } else {
+                int start = i;
+                while (i < to && chars[i] != ',') {
+                    i++;
+                }
+                fields.add(new String(chars, start, i - start));
+            }
+            
+            if (i >= to) {
+                return fields;
+            }
+            i++; // skip the comma
+        }
+    }
+}
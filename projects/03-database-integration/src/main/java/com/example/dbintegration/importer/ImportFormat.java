@@ -0,0 +1,26 @@
+package com.example.dbintegration.importer;
+
+import java.nio.file.Path;
+import java.util.Locale;
+
+// Supported bulk import file formats
+public enum ImportFormat {
+    
+    // Comma-separated values with a header row
+    CSV,
+    
+    // One JSON object per line
+    NDJSON;
+    
+    // Pick the format from the file extension
+    public static ImportFormat fromPath(Path path) {
+        String fileName = path.getFileName().toString().toLowerCase(Locale.ROOT);
+        if (fileName.endsWith(".csv")) {
+            return CSV;
+        }
+        if (fileName.endsWith(".ndjson") || fileName.endsWith(".jsonl")) {
+            return NDJSON;
+        }
+        throw new IllegalArgumentException("Unsupported import file type: " + path.getFileName());
+    }
+}
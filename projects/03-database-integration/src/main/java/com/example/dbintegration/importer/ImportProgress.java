@@ -0,0 +1,48 @@
+package com.example.dbintegration.importer;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+// Live counters for a running import; safe to read from any thread
+public class ImportProgress {
+    
+    private final long totalBytes;
+    private final AtomicLong bytesProcessed = new AtomicLong();
+    private final AtomicLong rowsImported = new AtomicLong();
+    private final AtomicLong rowsRejected = new AtomicLong();
+    private final long startNanos = System.nanoTime();
+    
+    public ImportProgress(long totalBytes) {
+        this.totalBytes = totalBytes;
+    }
+    
+    void chunkCompleted(long bytes, long imported, long rejected) {
+        bytesProcessed.addAndGet(bytes);
+        rowsImported.addAndGet(imported);
+        rowsRejected.addAndGet(rejected);
+    }
+    
+    public long getTotalBytes() {
+        return totalBytes;
+    }
+    
+    public long getBytesProcessed() {
+        return bytesProcessed.get();
+    }
+    
+    public long getRowsImported() {
+        return rowsImported.get();
+    }
+    
+    public long getRowsRejected() {
+        return rowsRejected.get();
+    }
+    
+    public double getPercentComplete() {
+        return totalBytes == 0 ? 100.0 : bytesProcessed.get() * 100.0 / totalBytes;
+    }
+    
+    public double getRowsPerSecond() {
+        double seconds = (System.nanoTime() - startNanos) / 1_000_000_000.0;
+        return seconds == 0 ? 0 : rowsImported.get() / seconds;
+    }
+}
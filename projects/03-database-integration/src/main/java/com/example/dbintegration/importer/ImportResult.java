@@ -0,0 +1,23 @@
+package com.example.dbintegration.importer;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.Duration;
+
+// Summary of a finished import
+@Data
+@AllArgsConstructor
+public class ImportResult {
+    
+    private long rowsImported;
+    
+    private long rowsRejected;
+    
+    private Duration elapsed;
+    
+    public double getRowsPerSecond() {
+        double seconds = elapsed.toNanos() / 1_000_000_000.0;
+        return seconds == 0 ? 0 : rowsImported / seconds;
+    }
+}
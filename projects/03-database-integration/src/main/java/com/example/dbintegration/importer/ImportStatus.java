@@ -0,0 +1,27 @@
+package com.example.dbintegration.importer;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+// State of the import started with app.import.file, as reported by GET /api/import/status
+@Data
+@AllArgsConstructor
+public class ImportStatus {
+    
+    public enum State {
+        // No import file configured
+        NONE,
+        // Configured, but the application has not started it yet
+        PENDING,
+        RUNNING,
+        COMPLETED,
+        FAILED
+    }
+    
+    private State state;
+    
+    // Only known once the import has completed
+    private long rowsImported;
+    
+    private long rowsRejected;
+}
@@ -0,0 +1,74 @@
+package com.example.dbintegration.importer;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+
+// Parses NDJSON lines with Jackson's streaming parser, without building a tree per row.
+// "category" may be a plain name or an object with a "name" field.
+class NdjsonRowParser implements RowParser {
+    
+    private final JsonFactory jsonFactory;
+    
+    NdjsonRowParser(JsonFactory jsonFactory) {
+        this.jsonFactory = jsonFactory;
+    }
+    
+    @Override
+    public ProductRow parse(char[] chars, int from, int to) throws IOException {
+        try (JsonParser parser = jsonFactory.createParser(chars, from, to - from)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new JsonParseException(parser, "Expected a JSON object");
+            }
+            
+            ProductRow row = new ProductRow();
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.getCurrentName();
+                JsonToken value = parser.nextToken();
+                switch (field) {
+                    case "name":
+                        row.setName(text(parser, value));
+                        break;
+                    case "description":
+                        row.setDescription(text(parser, value));
+                        break;
+                    case "price":
+                        row.setPrice(parser.getValueAsDouble());
+                        break;
+                    case "stockQuantity":
+                        row.setStockQuantity(parser.getValueAsInt());
+                        break;
+                    case "category":
+                        row.setCategoryName(value == JsonToken.START_OBJECT ?
+                                categoryName(parser) : text(parser, value));
+                        break;
+                    default:
+                        parser.skipChildren();
+                }
+            }
+            return row;
+        }
+    }
+    
+    private static String text(JsonParser parser, JsonToken value) throws IOException {
+        return value == JsonToken.VALUE_NULL ? null : parser.getValueAsString();
+    }
+    
+    // Read {"name": ...} and ignore any other category fields
+    private static String categoryName(JsonParser parser) throws IOException {
+        String name = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.getCurrentName();
+            JsonToken value = parser.nextToken();
+            if ("name".equals(field)) {
+                name = text(parser, value);
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return name;
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.dbintegration.importer;
+
+import com.example.dbintegration.config.ImportProperties;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Paths;
+
+// Imports app.import.file once the application has started (after data.sql has run).
+// The web server already answers requests by then, so the import's progress is exposed
+// through getStatus() for clients that need to wait for the catalog.
+@Component
+@ConditionalOnProperty(prefix = "app.import", name = "file")
+public class ProductImportRunner implements ApplicationRunner {
+    
+    private final ProductImportService productImportService;
+    private final ImportProperties properties;
+    
+    private volatile ImportStatus.State state = ImportStatus.State.PENDING;
+    private volatile ImportResult result;
+    
+    @Autowired
+    public ProductImportRunner(ProductImportService productImportService, ImportProperties properties) {
+        this.productImportService = productImportService;
+        this.properties = properties;
+    }
+    
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        state = ImportStatus.State.RUNNING;
+        try {
+            result = productImportService.importFile(Paths.get(properties.getFile()));
+            state = ImportStatus.State.COMPLETED;
+        } catch (Exception | Error e) {
+            state = ImportStatus.State.FAILED;
+            throw e;
+        }
+    }
+    
+    public ImportStatus getStatus() {
+        ImportResult finished = result;
+        return finished == null ?
+                new ImportStatus(state, 0, 0) :
+                new ImportStatus(state, finished.getRowsImported(), finished.getRowsRejected());
+    }
+}
@@ -0,0 +1,262 @@
+package com.example.dbintegration.importer;
+
+import com.example.dbintegration.config.ImportProperties;
+import com.example.dbintegration.model.Category;
+import com.example.dbintegration.model.Product;
+import com.example.dbintegration.repository.CategoryRepository;
+import com.example.dbintegration.sharding.ShardedProductRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+
+// Bulk-loads products from large CSV or NDJSON files.
+// The file is memory-mapped and split into chunks at line boundaries; each chunk is parsed
+// and written with JDBC batch inserts on its own worker thread and in its own transaction.
+// Rows must be one per line. A failed chunk stops the import, but chunks that already
+// committed are kept. With sharding enabled, rows go to the shards instead of the primary
+// database (one batch per shard and chunk, without a transaction spanning the shards).
+@Service
+public class ProductImportService {
+    
+    private static final Logger log = LoggerFactory.getLogger(ProductImportService.class);
+    
+    private static final String INSERT_SQL =
+            "INSERT INTO products (name, description, price, stock_quantity, category_id, created_at, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?)";
+    
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final CategoryRepository categoryRepository;
+    private final ObjectMapper objectMapper;
+    private final ImportProperties properties;
+    
+    // Present when app.sharding.enabled=true; products are then stored on the shards
+    private final ShardedProductRepository shards;
+    
+    @Autowired
+    public ProductImportService(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+                                CategoryRepository categoryRepository, ObjectMapper objectMapper,
+                                ImportProperties properties,
+                                Optional<ShardedProductRepository> shardedProductRepository) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.categoryRepository = categoryRepository;
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+        this.shards = shardedProductRepository.orElse(null);
+    }
+    
+    // Import a file, picking the format from its extension
+    public ImportResult importFile(Path file) throws IOException {
+        return importFile(file, ImportFormat.fromPath(file), this::logProgress);
+    }
+    
+    // Import a file, reporting progress after every completed chunk
+    public ImportResult importFile(Path file, ImportFormat format, Consumer<ImportProgress> progressListener)
+            throws IOException {
+        
+        long startNanos = System.nanoTime();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            ImportProgress progress = new ImportProgress(size);
+            
+            // CSV files start with a header row that tells us the column order
+            long dataStart = 0;
+            RowParser parser;
+            if (format == ImportFormat.CSV) {
+                dataStart = nextLineStart(channel, 0, size);
+                parser = new CsvRowParser(decode(channel, 0, dataStart).toString().trim());
+                progress.chunkCompleted(dataStart, 0, 0);
+            } else {
+                parser = new NdjsonRowParser(objectMapper.getFactory());
+            }
+            
+            CategoryLookup categories = new CategoryLookup(categoryRepository);
+            Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+            
+            ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, properties.getParallelism()));
+            try {
+                List<Future<?>> chunks = new ArrayList<>();
+                for (long[] chunk : split(channel, dataStart, size)) {
+                    chunks.add(executor.submit(() -> {
+                        importChunk(channel, chunk[0], chunk[1], parser, categories, now, progress);
+                        progressListener.accept(progress);
+                        return null;
+                    }));
+                }
+                for (Future<?> chunk : chunks) {
+                    chunk.get();
+                }
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Import of " + file + " failed", e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Import of " + file + " was interrupted", e);
+            } finally {
+                executor.shutdownNow();
+            }
+            
+            Duration elapsed = Duration.ofNanos(System.nanoTime() - startNanos);
+            ImportResult result = new ImportResult(progress.getRowsImported(), progress.getRowsRejected(), elapsed);
+            log.info("Imported {} products from {} in {} ms ({} rejected, {} rows/sec)",
+                    result.getRowsImported(), file, elapsed.toMillis(), result.getRowsRejected(),
+                    Math.round(result.getRowsPerSecond()));
+            return result;
+        }
+    }
+    
+    // Parse one chunk of lines and write the valid rows in JDBC batches
+    private void importChunk(FileChannel channel, long start, long end, RowParser parser,
+                             CategoryLookup categories, Timestamp now, ImportProgress progress)
+            throws IOException {
+        
+        CharBuffer text = decode(channel, start, end);
+        char[] chars = text.array();
+        int limit = text.arrayOffset() + text.limit();
+        
+        List<ProductRow> rows = new ArrayList<>();
+        long rejected = 0;
+        int lineStart = text.arrayOffset() + text.position();
+        while (lineStart < limit) {
+            int lineEnd = lineStart;
+            while (lineEnd < limit && chars[lineEnd] != '\n') {
+                lineEnd++;
+            }
+            int contentEnd = lineEnd > lineStart && chars[lineEnd - 1] == '\r' ? lineEnd - 1 : lineEnd;
+            
+            if (contentEnd > lineStart) {
+                ProductRow row = parseOrNull(parser, chars, lineStart, contentEnd);
+                if (row != null && row.isValid()) {
+                    row.setCategoryId(categories.resolve(row.getCategoryName()));
+                    rows.add(row);
+                } else {
+                    rejected++;
+                }
+            }
+            lineStart = lineEnd + 1;
+        }
+        
+        if (shards != null) {
+            shards.saveAll(toProducts(rows));
+            progress.chunkCompleted(end - start, rows.size(), rejected);
+            return;
+        }
+        
+        transactionTemplate.executeWithoutResult(status ->
+                jdbcTemplate.batchUpdate(INSERT_SQL, rows, properties.getBatchSize(), (ps, row) -> {
+                    ps.setString(1, row.getName());
+                    ps.setString(2, row.getDescription());
+                    ps.setDouble(3, row.getPrice());
+                    ps.setInt(4, row.getStockQuantity());
+                    if (row.getCategoryId() != null) {
+                        ps.setLong(5, row.getCategoryId());
+                    } else {
+                        ps.setNull(5, Types.BIGINT);
+                    }
+                    ps.setTimestamp(6, now);
+                    ps.setTimestamp(7, now);
+                }));
+        
+        progress.chunkCompleted(end - start, rows.size(), rejected);
+    }
+    
+    // Categories stay in the primary database; sharded products only refer to them by id
+    private static List<Product> toProducts(List<ProductRow> rows) {
+        List<Product> products = new ArrayList<>(rows.size());
+        for (ProductRow row : rows) {
+            Product product = new Product();
+            product.setName(row.getName());
+            product.setDescription(row.getDescription());
+            product.setPrice(row.getPrice());
+            product.setStockQuantity(row.getStockQuantity());
+            if (row.getCategoryId() != null) {
+                Category category = new Category();
+                category.setId(row.getCategoryId());
+                product.setCategory(category);
+            }
+            products.add(product);
+        }
+        return products;
+    }
+    
+    // Malformed lines are counted as rejected rather than failing the import
+    private static ProductRow parseOrNull(RowParser parser, char[] chars, int from, int to) {
+        try {
+            return parser.parse(chars, from, to);
+        } catch (IOException | RuntimeException e) {
+            return null;
+        }
+    }
+    
+    // Split [start, size) into chunks of roughly chunkSize bytes that end on a line break
+    private List<long[]> split(FileChannel channel, long start, long size) throws IOException {
+        long chunkSize = Math.max(1, properties.getChunkSize().toBytes());
+        List<long[]> chunks = new ArrayList<>();
+        long chunkStart = start;
+        while (chunkStart < size) {
+            long chunkEnd = Math.min(chunkStart + chunkSize, size);
+            if (chunkEnd < size) {
+                chunkEnd = nextLineStart(channel, chunkEnd, size);
+            }
+            chunks.add(new long[] {chunkStart, chunkEnd});
+            chunkStart = chunkEnd;
+        }
+        return chunks;
+    }
+    
+    // Position just after the next '\n' at or after the given position
+    private static long nextLineStart(FileChannel channel, long position, long size) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(8192);
+        while (position < size) {
+            buffer.clear();
+            int read = channel.read(buffer, position);
+            if (read <= 0) {
+                break;
+            }
+            for (int i = 0; i < read; i++) {
+                if (buffer.get(i) == '\n') {
+                    return position + i + 1;
+                }
+            }
+            position += read;
+        }
+        return size;
+    }
+    
+    // Map a region of the file and decode it as UTF-8
+    private static CharBuffer decode(FileChannel channel, long start, long end) throws IOException {
+        MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, start, end - start);
+        return StandardCharsets.UTF_8.decode(mapped);
+    }
+    
+    private void logProgress(ImportProgress progress) {
+        log.info("Import progress: {}% ({} rows imported, {} rejected, {} rows/sec)",
+                Math.round(progress.getPercentComplete()), progress.getRowsImported(),
+                progress.getRowsRejected(), Math.round(progress.getRowsPerSecond()));
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.dbintegration.importer;
+
+import lombok.Data;
+
+// A parsed import row, before it is written to the products table
+@Data
+class ProductRow {
+    
+    // Column sizes of products.name, products.description and categories.name
+    static final int MAX_NAME_LENGTH = 255;
+    static final int MAX_DESCRIPTION_LENGTH = 1000;
+    static final int MAX_CATEGORY_NAME_LENGTH = 255;
+    
+    private String name;
+    
+    private String description;
+    
+    private double price;
+    
+    private int stockQuantity;
+    
+    private String categoryName;
+    
+    private Long categoryId;
+    
+    // Same rules as the Product entity: name is required and price must be positive.
+    // Values longer than their column are rejected here, since they would fail the whole batch.
+    boolean isValid() {
+        return name != null && !name.isBlank() && name.length() <= MAX_NAME_LENGTH
+                && price > 0
+                && (description == null || description.length() <= MAX_DESCRIPTION_LENGTH)
+                && (categoryName == null || categoryName.trim().length() <= MAX_CATEGORY_NAME_LENGTH);
+    }
+}
@@ -0,0 +1,10 @@
+package com.example.dbintegration.importer;
+
+import java.io.IOException;
+
+// Turns one line of an import file into a row
+interface RowParser {
+    
+    // Parse chars[from, to), a single line without its line terminator
+    ProductRow parse(char[] chars, int from, int to) throws IOException;
+}
@@ -3,12 +3,15 @@ package com.example.dbintegration.repository;
 import com.example.dbintegration.model.Product;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface ProductRepository extends JpaRepository<Product, Long> {
@@ -16,10 +19,20 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
     // Find products by category ID
     List<Product> findByCategoryId(Long categoryId);
     
+    // Find a product together with its category (one join instead of a lazy proxy)
+    @EntityGraph(attributePaths = "category")
+    Optional<Product> findWithCategoryById(Long id);
+    
+    // Find products by ID together with their categories, in one IN query
+    @EntityGraph(attributePaths = "category")
+    List<Product> findByIdIn(Collection<Long> ids);
+    
     // Find products with name containing the given string (case insensitive)
+    @EntityGraph(attributePaths = "category")
     List<Product> findByNameContainingIgnoreCase(String name);
     
     // Find products by price range
+    @EntityGraph(attributePaths = "category")
     List<Product> findByPriceBetween(double minPrice, double maxPrice);
     
     // Find products with low stock (less than the given quantity)
@@ -1,9 +1,13 @@
 package com.example.dbintegration.service;
 
+import com.example.dbintegration.config.SingleFlightProperties;
 import com.example.dbintegration.model.Category;
+import com.example.dbintegration.model.MultiGetResponse;
 import com.example.dbintegration.model.Product;
+import com.example.dbintegration.patch.ProductMergePatch;
 import com.example.dbintegration.repository.CategoryRepository;
 import com.example.dbintegration.repository.ProductRepository;
+import com.example.dbintegration.sharding.ShardedProductRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -11,29 +15,102 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import javax.persistence.EntityNotFoundException;
+import javax.validation.Validator;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 
 @Service
 public class ProductService {
     
+    // Maximum number of ids in one IN query when looking up several products
+    private static final int IDS_PER_QUERY = 500;
+    
     private final ProductRepository productRepository;
     private final CategoryRepository categoryRepository;
     
+    // Set when app.sharding.enabled=true; products are then read and written through it
+    private final ShardedProductRepository shards;
+    
+    private final Validator validator;
+    
+    // Concurrent identical reads share one in-flight query (see SingleFlightProperties)
+    private final SingleFlight<Long, Product> productByIdCalls;
+    private final SingleFlight<String, List<Product>> searchCalls;
+    private final SingleFlight<List<Double>, List<Product>> priceRangeCalls;
+    
     @Autowired
-    public ProductService(ProductRepository productRepository, CategoryRepository categoryRepository) {
+    public ProductService(ProductRepository productRepository, CategoryRepository categoryRepository,
+                          SingleFlightProperties singleFlightProperties,
+                          Optional<ShardedProductRepository> shardedProductRepository,
+                          Validator validator) {
         this.productRepository = productRepository;
         this.categoryRepository = categoryRepository;
+        this.shards = shardedProductRepository.orElse(null);
+        this.validator = validator;
+        this.productByIdCalls = singleFlight(singleFlightProperties.getById());
+        this.searchCalls = singleFlight(singleFlightProperties.getSearch());
+        this.priceRangeCalls = singleFlight(singleFlightProperties.getPriceRange());
+    }
+    
+    private static <K, V> SingleFlight<K, V> singleFlight(SingleFlightProperties.Query query) {
+        return new SingleFlight<>(query.isEnabled(), query.getTimeout());
     }
     
     // Get all products
     public List<Product> getAllProducts() {
-        return productRepository.findAll();
+        return shards != null ? shards.findAll() : productRepository.findAll();
     }
     
     // Get product by ID
     public Product getProductById(Long id) {
-        return productRepository.findById(id)
-                .orElseThrow(() -> new EntityNotFoundException("Product not found with id: " + id));
+        return productByIdCalls.execute(id, () -> {
+            Optional<Product> product = shards != null ?
+                    shards.findById(id) :
+                    productRepository.findWithCategoryById(id);
+            return detach(product.orElseThrow(() -> new EntityNotFoundException("Product not found with id: " + id)));
+        });
+    }
+    
+    // Get several products by ID, with one IN query per chunk of ids
+    public MultiGetResponse getProductsByIds(List<Long> ids) {
+        Set<Long> uniqueIds = new LinkedHashSet<>(ids);
+        uniqueIds.remove(null);
+        List<Long> idList = new ArrayList<>(uniqueIds);
+        
+        Map<Long, Product> found = new HashMap<>();
+        if (shards != null) {
+            shards.findAllById(idList).forEach(product -> found.put(product.getId(), product));
+        } else {
+            for (int from = 0; from < idList.size(); from += IDS_PER_QUERY) {
+                List<Long> chunk = idList.subList(from, Math.min(from + IDS_PER_QUERY, idList.size()));
+                productRepository.findByIdIn(chunk).forEach(product -> found.put(product.getId(), product));
+            }
+        }
+        
+        List<Product> products = new ArrayList<>();
+        List<Long> missingIds = new ArrayList<>();
+        for (Long id : idList) {
+            Product product = found.get(id);
+            if (product != null) {
+                products.add(product);
+            } else {
+                missingIds.add(id);
+            }
+        }
+        return new MultiGetResponse(products, missingIds);
+    }
+    
+    // Load a product for modification; never shared with other callers
+    private Product findProduct(Long id) {
+        Optional<Product> product = shards != null ? shards.findById(id) : productRepository.findById(id);
+        return product.orElseThrow(() -> new EntityNotFoundException("Product not found with id: " + id));
     }
     
     // Create a new product
@@ -47,13 +124,13 @@ public class ProductService {
             product.setCategory(category);
         }
         
-        return productRepository.save(product);
+        return save(product);
     }
     
     // Update an existing product
     @Transactional
     public Product updateProduct(Long id, Product productDetails, Long categoryId) {
-        Product product = getProductById(id);
+        Product product = findProduct(id);
         
         // Update product fields
         product.setName(productDetails.getName());
@@ -68,38 +145,96 @@ public class ProductService {
             product.setCategory(category);
         }
         
-        return productRepository.save(product);
+        return save(product);
+    }
+    
+    // Apply a merge patch to an existing product.
+    // Only the patched fields are validated, and only their columns are written: JPA flushes
+    // a dynamic UPDATE on commit, the sharded store updates just those columns.
+    @Transactional
+    public Product patchProduct(Long id, ProductMergePatch patch, Long categoryId) {
+        Product product = findProduct(id);
+        List<String> changed = patch.applyTo(product, validator);
+        
+        // Update category if provided
+        if (categoryId != null) {
+            Category category = categoryRepository.findById(categoryId)
+                    .orElseThrow(() -> new EntityNotFoundException("Category not found with id: " + categoryId));
+            product.setCategory(category);
+            changed.add("category");
+        }
+        
+        return shards != null ? shards.update(product, changed) : product;
+    }
+    
+    private Product save(Product product) {
+        return shards != null ? shards.save(product) : productRepository.save(product);
     }
     
     // Delete a product
     @Transactional
     public void deleteProduct(Long id) {
-        Product product = getProductById(id);
-        productRepository.delete(product);
+        Product product = findProduct(id);
+        if (shards != null) {
+            shards.delete(product);
+        } else {
+            productRepository.delete(product);
+        }
     }
     
     // Search products by name
     public List<Product> searchProductsByName(String name) {
-        return productRepository.findByNameContainingIgnoreCase(name);
+        // The query ignores case, so differently-cased searches can share a result
+        return searchCalls.execute(name.toLowerCase(Locale.ROOT),
+                () -> detach(shards != null ?
+                        shards.findByNameContainingIgnoreCase(name) :
+                        productRepository.findByNameContainingIgnoreCase(name)));
     }
     
     // Get products by category
     public List<Product> getProductsByCategory(Long categoryId) {
-        return productRepository.findByCategoryId(categoryId);
+        return shards != null ?
+                shards.findByCategoryId(categoryId) :
+                productRepository.findByCategoryId(categoryId);
     }
     
     // Get products with pagination
     public Page<Product> getProductsWithPagination(Pageable pageable) {
-        return productRepository.findAll(pageable);
+        return shards != null ? shards.findAll(pageable) : productRepository.findAll(pageable);
     }
     
     // Get products by price range
     public List<Product> getProductsByPriceRange(double minPrice, double maxPrice) {
-        return productRepository.findByPriceBetween(minPrice, maxPrice);
+        return priceRangeCalls.execute(List.of(minPrice, maxPrice),
+                () -> detach(shards != null ?
+                        shards.findByPriceBetween(minPrice, maxPrice) :
+                        productRepository.findByPriceBetween(minPrice, maxPrice)));
+    }
+    
+    // Results of coalesced reads are handed to other requests' threads. The entities belong to
+    // the loading request's persistence context (open-in-view keeps it open), which is not
+    // thread-safe and may already be closed when a follower serializes them. Followers therefore
+    // get plain copies; the loaders fetch the category with the product so no proxy is left.
+    private static List<Product> detach(List<Product> products) {
+        List<Product> copies = new ArrayList<>(products.size());
+        for (Product product : products) {
+            copies.add(detach(product));
+        }
+        return copies;
+    }
+    
+    private static Product detach(Product product) {
+        Category category = product.getCategory();
+        Category categoryCopy = category == null ? null : new Category(category.getId(), category.getName(),
+                category.getDescription(), new HashSet<>(), category.getCreatedAt(), category.getUpdatedAt());
+        return new Product(product.getId(), product.getName(), product.getDescription(), product.getPrice(),
+                product.getStockQuantity(), categoryCopy, product.getCreatedAt(), product.getUpdatedAt());
     }
     
     // Get products with low stock
     public List<Product> getProductsWithLowStock(int threshold) {
-        return productRepository.findByStockQuantityLessThan(threshold);
+        return shards != null ?
+                shards.findByStockQuantityLessThan(threshold) :
+                productRepository.findByStockQuantityLessThan(threshold);
     }
 }
\ No newline at end of file
@@ -0,0 +1,87 @@
+package com.example.dbintegration.service;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+// Lets concurrent callers asking for the same key share one in-flight load and its result.
+// The first caller for a key runs the loader; callers arriving while it runs wait for that
+// result (or exception) instead of issuing their own query. Nothing is cached afterwards.
+// A caller that gives up waiting on a stuck load takes over as the leader for its key.
+public class SingleFlight<K, V> {
+    
+    private final ConcurrentMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final boolean enabled;
+    private final long timeoutMillis;
+    
+    public SingleFlight(boolean enabled, Duration timeout) {
+        this.enabled = enabled;
+        this.timeoutMillis = timeout.toMillis();
+    }
+    
+    // Run the loader, or join a load for the same key that is already running
+    public V execute(K key, Supplier<V> loader) {
+        if (!enabled) {
+            return loader.get();
+        }
+        
+        CompletableFuture<V> call = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, call);
+        if (existing != null) {
+            return await(key, existing, loader);
+        }
+        return lead(key, call, loader);
+    }
+    
+    // Number of keys currently being loaded
+    public int inFlightCount() {
+        return inFlight.size();
+    }
+    
+    // Run the loader as the registered call for the key and share its outcome
+    private V lead(K key, CompletableFuture<V> call, Supplier<V> loader) {
+        try {
+            V value = loader.get();
+            call.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            call.completeExceptionally(e);
+            throw e;
+        } finally {
+            // Only removes the entry if no other caller has taken over the key
+            inFlight.remove(key, call);
+        }
+    }
+    
+    private V await(K key, CompletableFuture<V> call, Supplier<V> loader) {
+        try {
+            return call.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            // The leading query is stuck. Replace it with this caller's own query, so later
+            // callers join that one instead of also waiting out the timeout behind the stuck one.
+            CompletableFuture<V> takeover = new CompletableFuture<>();
+            if (inFlight.replace(key, call, takeover)) {
+                return lead(key, takeover, loader);
+            }
+            // Another caller took over or the stuck load has just finished
+            return loader.get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IllegalStateException(cause);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for an in-flight query", e);
+        }
+    }
+}
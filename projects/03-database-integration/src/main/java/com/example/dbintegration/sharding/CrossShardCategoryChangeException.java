@@ -0,0 +1,10 @@
+package com.example.dbintegration.sharding;
+
+// Thrown when a category change would require moving a product to another shard.
+// Product ids encode their shard and must not change, so such updates are rejected.
+public class CrossShardCategoryChangeException extends RuntimeException {
+    
+    public CrossShardCategoryChangeException(String message) {
+        super(message);
+    }
+}
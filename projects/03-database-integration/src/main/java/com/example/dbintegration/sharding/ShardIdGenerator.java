@@ -0,0 +1,30 @@
+package com.example.dbintegration.sharding;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+// Generates product ids that encode their shard: id % shardCount is the shard index,
+// so a lookup by id always goes to exactly one shard.
+public class ShardIdGenerator {
+    
+    private final int shardCount;
+    private final AtomicLong[] sequences;
+    
+    // maxIds holds the highest id already stored on each shard (0 if empty)
+    public ShardIdGenerator(long[] maxIds) {
+        this.shardCount = maxIds.length;
+        this.sequences = new AtomicLong[shardCount];
+        for (int shard = 0; shard < shardCount; shard++) {
+            sequences[shard] = new AtomicLong(maxIds[shard] / shardCount + 1);
+        }
+    }
+    
+    // Next unused id on the given shard
+    public long nextId(int shard) {
+        return sequences[shard].getAndIncrement() * shardCount + shard;
+    }
+    
+    // Shard that owns the given id
+    public int shardOf(long id) {
+        return (int) Math.floorMod(id, (long) shardCount);
+    }
+}
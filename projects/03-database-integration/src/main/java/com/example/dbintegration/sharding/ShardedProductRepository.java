@@ -0,0 +1,576 @@
+package com.example.dbintegration.sharding;
+
+import com.example.dbintegration.config.ShardingProperties;
+import com.example.dbintegration.model.Category;
+import com.example.dbintegration.model.Product;
+import com.example.dbintegration.repository.CategoryRepository;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.stereotype.Component;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+// Stores products across several databases ("shards") using plain JDBC.
+// Lookups by id, and by category when the CATEGORY strategy is used, go to a single shard.
+// Other queries run on all shards in parallel and the sorted results are merged.
+// Only the products table is sharded; categories stay in the primary database and are
+// attached to the products read from the shards.
+@Component
+@ConditionalOnProperty(prefix = "app.sharding", name = "enabled", havingValue = "true")
+public class ShardedProductRepository implements DisposableBean {
+    
+    private static final String COLUMNS =
+            "id, name, description, price, stock_quantity, category_id, created_at, updated_at";
+    
+    private static final String INSERT_SQL =
+            "INSERT INTO products (" + COLUMNS + ") VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+    
+    private static final String UPDATE_SQL =
+            "UPDATE products SET name = ?, description = ?, price = ?, stock_quantity = ?, category_id = ?, " +
+            "updated_at = ? WHERE id = ?";
+    
+    // Sortable Product properties and the columns they map to
+    private static final Map<String, String> SORT_COLUMNS = Map.of(
+            "id", "id",
+            "name", "name",
+            "description", "description",
+            "price", "price",
+            "stockQuantity", "stock_quantity",
+            "createdAt", "created_at",
+            "updatedAt", "updated_at");
+    
+    private static final Map<String, Function<Product, Comparable<?>>> SORT_KEYS = Map.of(
+            "id", Product::getId,
+            "name", Product::getName,
+            "description", Product::getDescription,
+            "price", Product::getPrice,
+            "stockQuantity", Product::getStockQuantity,
+            "createdAt", Product::getCreatedAt,
+            "updatedAt", Product::getUpdatedAt);
+    
+    private static final Sort BY_ID = Sort.by("id");
+    
+    // Maximum number of ids in one IN query
+    private static final int IDS_PER_QUERY = 500;
+    
+    private final List<HikariDataSource> dataSources = new ArrayList<>();
+    private final List<JdbcTemplate> shards = new ArrayList<>();
+    private final ShardingProperties.Strategy strategy;
+    private final long queryTimeoutMillis;
+    private final ExecutorService fanOutExecutor;
+    private final ShardIdGenerator idGenerator;
+    private final AtomicLong nextShard = new AtomicLong();
+    
+    // Categories are few and the application never changes them once created,
+    // so each one is read from the primary database only once
+    private final CategoryRepository categoryRepository;
+    private final Map<Long, Category> categories = new ConcurrentHashMap<>();
+    
+    // Without a category repository, products read from the shards carry only their category id
+    public ShardedProductRepository(ShardingProperties properties) {
+        this(properties, null);
+    }
+    
+    @Autowired
+    public ShardedProductRepository(ShardingProperties properties, CategoryRepository categoryRepository) {
+        if (properties.getUrls().isEmpty()) {
+            throw new IllegalStateException("app.sharding.urls must list at least one shard");
+        }
+        
+        ResourceDatabasePopulator schema = new ResourceDatabasePopulator(new ClassPathResource("shard-schema.sql"));
+        long[] maxIds = new long[properties.getUrls().size()];
+        for (int shard = 0; shard < maxIds.length; shard++) {
+            HikariDataSource dataSource = DataSourceBuilder.create()
+                    .type(HikariDataSource.class)
+                    .url(properties.getUrls().get(shard))
+                    .username(properties.getUsername())
+                    .password(properties.getPassword())
+                    .build();
+            dataSource.setPoolName("product-shard-" + shard);
+            dataSources.add(dataSource);
+            
+            schema.execute(dataSource);
+            JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+            shards.add(jdbcTemplate);
+            maxIds[shard] = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM products", Long.class);
+        }
+        
+        this.strategy = properties.getStrategy();
+        this.queryTimeoutMillis = properties.getQueryTimeout().toMillis();
+        this.fanOutExecutor = Executors.newFixedThreadPool(Math.max(1, properties.getFanOutThreads()));
+        this.idGenerator = new ShardIdGenerator(maxIds);
+        this.categoryRepository = categoryRepository;
+    }
+    
+    public int getShardCount() {
+        return shards.size();
+    }
+    
+    // Find a product by ID (single shard)
+    public Optional<Product> findById(Long id) {
+        List<Product> products = shardFor(id).query(
+                "SELECT " + COLUMNS + " FROM products WHERE id = ?", PRODUCT_ROW_MAPPER, id);
+        return withCategories(products).stream().findFirst();
+    }
+    
+    // Find products by ID, with one IN query per shard (and per chunk of ids) run in parallel
+    public List<Product> findAllById(List<Long> ids) {
+        List<List<Long>> idsByShard = new ArrayList<>();
+        for (int shard = 0; shard < shards.size(); shard++) {
+            idsByShard.add(new ArrayList<>());
+        }
+        for (Long id : ids) {
+            idsByShard.get(idGenerator.shardOf(id)).add(id);
+        }
+        
+        List<CompletableFuture<List<Product>>> queries = new ArrayList<>();
+        for (int shard = 0; shard < shards.size(); shard++) {
+            JdbcTemplate jdbcTemplate = shards.get(shard);
+            List<Long> shardIds = idsByShard.get(shard);
+            for (int from = 0; from < shardIds.size(); from += IDS_PER_QUERY) {
+                Object[] chunk = shardIds.subList(from, Math.min(from + IDS_PER_QUERY, shardIds.size())).toArray();
+                String sql = "SELECT " + COLUMNS + " FROM products WHERE id IN (" +
+                        String.join(", ", Collections.nCopies(chunk.length, "?")) + ")";
+                queries.add(CompletableFuture.supplyAsync(
+                        () -> jdbcTemplate.query(sql, PRODUCT_ROW_MAPPER, chunk), fanOutExecutor));
+            }
+        }
+        
+        List<Product> products = new ArrayList<>();
+        await(queries).forEach(products::addAll);
+        return withCategories(products);
+    }
+    
+    // Find products by category ID (single shard with the CATEGORY strategy, otherwise all shards)
+    public List<Product> findByCategoryId(Long categoryId) {
+        String sql = "SELECT " + COLUMNS + " FROM products WHERE category_id = ? ORDER BY id";
+        if (strategy == ShardingProperties.Strategy.CATEGORY) {
+            return withCategories(shards.get(shardForCategory(categoryId)).query(sql, PRODUCT_ROW_MAPPER, categoryId));
+        }
+        return queryAll(sql, categoryId);
+    }
+    
+    // Find products with name containing the given string (case insensitive, all shards)
+    public List<Product> findByNameContainingIgnoreCase(String name) {
+        return queryAll("SELECT " + COLUMNS + " FROM products WHERE LOWER(name) LIKE ? ESCAPE '\\' ORDER BY id",
+                "%" + escapeLike(name.toLowerCase()) + "%");
+    }
+    
+    // Find products by price range (all shards)
+    public List<Product> findByPriceBetween(double minPrice, double maxPrice) {
+        return queryAll("SELECT " + COLUMNS + " FROM products WHERE price BETWEEN ? AND ? ORDER BY id",
+                minPrice, maxPrice);
+    }
+    
+    // Find products with low stock (all shards)
+    public List<Product> findByStockQuantityLessThan(int quantity) {
+        return queryAll("SELECT " + COLUMNS + " FROM products WHERE stock_quantity < ? ORDER BY id", quantity);
+    }
+    
+    // Find all products (all shards)
+    public List<Product> findAll() {
+        return queryAll("SELECT " + COLUMNS + " FROM products ORDER BY id");
+    }
+    
+    // Find one page of products (all shards).
+    // Each shard returns its first offset + size rows in the requested order, which are then
+    // merged; deep pages therefore cost more than early ones.
+    public Page<Product> findAll(Pageable pageable) {
+        if (pageable.isUnpaged()) {
+            return new PageImpl<>(findAll());
+        }
+        
+        Sort sort = pageable.getSort().isSorted() ? pageable.getSort().and(BY_ID) : BY_ID;
+        long rowsPerShard = pageable.getOffset() + pageable.getPageSize();
+        String sql = "SELECT " + COLUMNS + " FROM products ORDER BY " + orderBy(sort) + " LIMIT ?";
+        
+        List<ShardPage> shardPages = fanOut(shard -> new ShardPage(
+                shard.queryForObject("SELECT COUNT(*) FROM products", Long.class),
+                shard.query(sql, PRODUCT_ROW_MAPPER, rowsPerShard)));
+        
+        long total = 0;
+        List<List<Product>> sortedRuns = new ArrayList<>();
+        for (ShardPage shardPage : shardPages) {
+            total += shardPage.total;
+            sortedRuns.add(shardPage.products);
+        }
+        List<Product> content = withCategories(
+                merge(sortedRuns, comparator(sort), pageable.getOffset(), pageable.getPageSize()));
+        return new PageImpl<>(content, pageable, total);
+    }
+    
+    // Insert a new product or update an existing one.
+    // With the CATEGORY strategy, moving an existing product to a category on another shard is rejected.
+    public Product save(Product product) {
+        LocalDateTime now = LocalDateTime.now();
+        product.setUpdatedAt(now);
+        
+        if (product.getId() == null) {
+            int shard = shardForNewProduct(product);
+            product.setId(idGenerator.nextId(shard));
+            product.setCreatedAt(now);
+            shards.get(shard).update(INSERT_SQL, ps -> bindInsert(ps, product));
+            return product;
+        }
+        
+        checkSameShard(product);
+        shardFor(product.getId()).update(UPDATE_SQL, ps -> {
+            bindValues(ps, 1, product);
+            ps.setTimestamp(6, Timestamp.valueOf(now));
+            ps.setLong(7, product.getId());
+        });
+        return product;
+    }
+    
+    // Update only the given properties of an existing product (plus its updated_at timestamp).
+    // A category change that would move the product to another shard is rejected.
+    public Product update(Product product, Collection<String> properties) {
+        if (properties.isEmpty()) {
+            return product;
+        }
+        
+        if (properties.contains("category")) {
+            checkSameShard(product);
+        }
+        
+        LocalDateTime now = LocalDateTime.now();
+        product.setUpdatedAt(now);
+        
+        List<String> assignments = new ArrayList<>();
+        List<Object> args = new ArrayList<>();
+        for (String property : properties) {
+            if (property.equals("category")) {
+                assignments.add("category_id = ?");
+                args.add(product.getCategory() != null ? product.getCategory().getId() : null);
+            } else if (SORT_COLUMNS.containsKey(property) && !property.equals("id")) {
+                assignments.add(SORT_COLUMNS.get(property) + " = ?");
+                args.add(SORT_KEYS.get(property).apply(product));
+            } else {
+                throw new IllegalArgumentException("Cannot update sharded product property: " + property);
+            }
+        }
+        assignments.add("updated_at = ?");
+        args.add(Timestamp.valueOf(now));
+        args.add(product.getId());
+        
+        shardFor(product.getId()).update(
+                "UPDATE products SET " + String.join(", ", assignments) + " WHERE id = ?", args.toArray());
+        return product;
+    }
+    
+    // Insert new products, one JDBC batch per shard with all shards written in parallel
+    public List<Product> saveAll(List<Product> products) {
+        LocalDateTime now = LocalDateTime.now();
+        List<List<Product>> byShard = new ArrayList<>();
+        for (int shard = 0; shard < shards.size(); shard++) {
+            byShard.add(new ArrayList<>());
+        }
+        for (Product product : products) {
+            int shard = shardForNewProduct(product);
+            product.setId(idGenerator.nextId(shard));
+            product.setCreatedAt(now);
+            product.setUpdatedAt(now);
+            byShard.get(shard).add(product);
+        }
+        
+        List<CompletableFuture<int[][]>> writes = new ArrayList<>();
+        for (int shard = 0; shard < shards.size(); shard++) {
+            JdbcTemplate jdbcTemplate = shards.get(shard);
+            List<Product> batch = byShard.get(shard);
+            writes.add(CompletableFuture.supplyAsync(
+                    () -> jdbcTemplate.batchUpdate(INSERT_SQL, batch, 1000, this::bindInsert), fanOutExecutor));
+        }
+        await(writes);
+        return products;
+    }
+    
+    // Delete a product
+    public void delete(Product product) {
+        shardFor(product.getId()).update("DELETE FROM products WHERE id = ?", product.getId());
+    }
+    
+    @Override
+    public void destroy() {
+        fanOutExecutor.shutdownNow();
+        dataSources.forEach(HikariDataSource::close);
+    }
+    
+    private JdbcTemplate shardFor(long id) {
+        return shards.get(idGenerator.shardOf(id));
+    }
+    
+    private int shardForCategory(Long categoryId) {
+        return (int) Math.floorMod(categoryId, (long) shards.size());
+    }
+    
+    private int shardForNewProduct(Product product) {
+        if (strategy == ShardingProperties.Strategy.CATEGORY
+                && product.getCategory() != null && product.getCategory().getId() != null) {
+            return shardForCategory(product.getCategory().getId());
+        }
+        return (int) Math.floorMod(nextShard.getAndIncrement(), (long) shards.size());
+    }
+    
+    // With the CATEGORY strategy, a product whose category changed may belong on another shard.
+    // Moving it would change its id, which encodes the shard, and break every stored reference
+    // to it, so the change is refused instead.
+    private void checkSameShard(Product product) {
+        if (strategy == ShardingProperties.Strategy.CATEGORY
+                && product.getCategory() != null && product.getCategory().getId() != null
+                && shardForCategory(product.getCategory().getId()) != idGenerator.shardOf(product.getId())) {
+            throw new CrossShardCategoryChangeException("Product " + product.getId()
+                    + " cannot move to category " + product.getCategory().getId()
+                    + ", which is stored on another shard");
+        }
+    }
+    
+    // Replace the id-only categories set by PRODUCT_ROW_MAPPER with the full categories,
+    // loading the ones not cached yet with a single query. Every product gets its own copy.
+    private List<Product> withCategories(List<Product> products) {
+        if (categoryRepository == null) {
+            return products;
+        }
+        
+        Set<Long> missing = new HashSet<>();
+        for (Product product : products) {
+            if (product.getCategory() != null && !categories.containsKey(product.getCategory().getId())) {
+                missing.add(product.getCategory().getId());
+            }
+        }
+        if (!missing.isEmpty()) {
+            for (Category category : categoryRepository.findAllById(missing)) {
+                categories.put(category.getId(), copyOf(category));
+            }
+        }
+        
+        for (Product product : products) {
+            // A category deleted from the primary database keeps the id-only placeholder
+            Category category = product.getCategory() != null ? categories.get(product.getCategory().getId()) : null;
+            if (category != null) {
+                product.setCategory(copyOf(category));
+            }
+        }
+        return products;
+    }
+    
+    // Copy without the lazy products collection, which is never loaded for sharded products
+    private static Category copyOf(Category category) {
+        return new Category(category.getId(), category.getName(), category.getDescription(), new HashSet<>(),
+                category.getCreatedAt(), category.getUpdatedAt());
+    }
+    
+    // Run the same id-ordered query on every shard and merge the results by id
+    private List<Product> queryAll(String sql, Object... args) {
+        List<List<Product>> sortedRuns = fanOut(shard -> shard.query(sql, PRODUCT_ROW_MAPPER, args));
+        return withCategories(merge(sortedRuns, comparator(BY_ID), 0, Integer.MAX_VALUE));
+    }
+    
+    // Run a query on all shards in parallel and wait for every answer
+    private <T> List<T> fanOut(Function<JdbcTemplate, T> query) {
+        List<CompletableFuture<T>> futures = new ArrayList<>();
+        for (JdbcTemplate shard : shards) {
+            futures.add(CompletableFuture.supplyAsync(() -> query.apply(shard), fanOutExecutor));
+        }
+        return await(futures);
+    }
+    
+    private <T> List<T> await(List<CompletableFuture<T>> futures) {
+        try {
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0]))
+                    .get(queryTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            futures.forEach(future -> future.cancel(true));
+            throw new QueryTimeoutException("Shards did not answer within " + queryTimeoutMillis + " ms", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof DataAccessException) {
+                throw (DataAccessException) e.getCause();
+            }
+            throw new IllegalStateException("Shard query failed", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while querying shards", e);
+        }
+        
+        List<T> results = new ArrayList<>();
+        for (CompletableFuture<T> future : futures) {
+            results.add(future.join());
+        }
+        return results;
+    }
+    
+    // k-way merge of individually sorted lists, skipping offset rows and keeping at most limit
+    static List<Product> merge(List<List<Product>> sortedRuns, Comparator<Product> comparator,
+                               long offset, int limit) {
+        PriorityQueue<PeekingIterator> heads = new PriorityQueue<>(
+                Math.max(1, sortedRuns.size()), (a, b) -> comparator.compare(a.head, b.head));
+        for (List<Product> run : sortedRuns) {
+            if (!run.isEmpty()) {
+                heads.add(new PeekingIterator(run.iterator()));
+            }
+        }
+        
+        List<Product> merged = new ArrayList<>();
+        long skipped = 0;
+        while (!heads.isEmpty() && merged.size() < limit) {
+            PeekingIterator next = heads.poll();
+            if (skipped < offset) {
+                skipped++;
+            } else {
+                merged.add(next.head);
+            }
+            if (next.advance()) {
+                heads.add(next);
+            }
+        }
+        return merged;
+    }
+    
+    // Comparator matching the SQL ORDER BY produced by orderBy(sort); nulls sort lowest, as in H2
+    static Comparator<Product> comparator(Sort sort) {
+        Comparator<Product> comparator = null;
+        for (Sort.Order order : sort) {
+            Function<Product, Comparable<?>> key = sortKey(order.getProperty());
+            Comparator<Product> next = (a, b) -> compareValues(key.apply(a), key.apply(b));
+            if (order.isDescending()) {
+                next = next.reversed();
+            }
+            comparator = comparator == null ? next : comparator.thenComparing(next);
+        }
+        return comparator;
+    }
+    
+    @SuppressWarnings("unchecked")
+    private static int compareValues(Comparable<?> a, Comparable<?> b) {
+        if (a == null || b == null) {
+            return a == null ? (b == null ? 0 : -1) : 1;
+        }
+        return ((Comparable<Object>) a).compareTo(b);
+    }
+    
+    private static String orderBy(Sort sort) {
+        List<String> columns = new ArrayList<>();
+        for (Sort.Order order : sort) {
+            sortKey(order.getProperty());
+            columns.add(SORT_COLUMNS.get(order.getProperty()) + (order.isDescending() ? " DESC" : " ASC"));
+        }
+        return String.join(", ", columns);
+    }
+    
+    private static Function<Product, Comparable<?>> sortKey(String property) {
+        Function<Product, Comparable<?>> key = SORT_KEYS.get(property);
+        if (key == null) {
+            throw new IllegalArgumentException("Cannot sort sharded products by: " + property);
+        }
+        return key;
+    }
+    
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+    
+    private void bindInsert(PreparedStatement ps, Product product) throws SQLException {
+        ps.setLong(1, product.getId());
+        bindValues(ps, 2, product);
+        ps.setTimestamp(7, Timestamp.valueOf(product.getCreatedAt()));
+        ps.setTimestamp(8, Timestamp.valueOf(product.getUpdatedAt()));
+    }
+    
+    // Bind name, description, price, stock quantity and category id starting at the given index
+    private static void bindValues(PreparedStatement ps, int index, Product product) throws SQLException {
+        ps.setString(index, product.getName());
+        ps.setString(index + 1, product.getDescription());
+        ps.setDouble(index + 2, product.getPrice());
+        ps.setInt(index + 3, product.getStockQuantity());
+        if (product.getCategory() != null && product.getCategory().getId() != null) {
+            ps.setLong(index + 4, product.getCategory().getId());
+        } else {
+            ps.setNull(index + 4, Types.BIGINT);
+        }
+    }
+    
+    // Categories live in the primary database, so rows only carry the category id (see withCategories)
+    private static final RowMapper<Product> PRODUCT_ROW_MAPPER = (rs, rowNum) -> {
+        Product product = new Product();
+        product.setId(rs.getLong("id"));
+        product.setName(rs.getString("name"));
+        product.setDescription(rs.getString("description"));
+        product.setPrice(rs.getDouble("price"));
+        product.setStockQuantity(rs.getInt("stock_quantity"));
+        long categoryId = rs.getLong("category_id");
+        if (!rs.wasNull()) {
+            Category category = new Category();
+            category.setId(categoryId);
+            product.setCategory(category);
+        }
+        product.setCreatedAt(rs.getTimestamp("created_at").toLocalDateTime());
+        product.setUpdatedAt(rs.getTimestamp("updated_at").toLocalDateTime());
+        return product;
+    };
+    
+    private static class ShardPage {
+        
+        private final long total;
+        private final List<Product> products;
+        
+        ShardPage(long total, List<Product> products) {
+            this.total = total;
+            this.products = products;
+        }
+    }
+    
+    private static class PeekingIterator {
+        
+        private final Iterator<Product> iterator;
+        private Product head;
+        
+        PeekingIterator(Iterator<Product> iterator) {
+            this.iterator = iterator;
+            this.head = iterator.next();
+        }
+        
+        boolean advance() {
+            if (!iterator.hasNext()) {
+                return false;
+            }
+            head = iterator.next();
+            return true;
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package com.example.dbintegration.controller;
+
+import com.example.dbintegration.model.Product;
+import com.example.dbintegration.repository.ProductRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+// Runs against its own in-memory database so data.sql is loaded only once into it
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:controllerdb",
+        "spring.jpa.show-sql=false",
+        "logging.level.org.hibernate.SQL=INFO",
+        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=INFO"
+})
+@AutoConfigureMockMvc
+public class ProductControllerTests {
+    
+    @Autowired
+    private MockMvc mockMvc;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    @Autowired
+    private ProductRepository productRepository;
+    
+    @Test
+    public void testGetProductsByIds() throws Exception {
+        // Given the data.sql inserts, ask for two existing products and one missing id
+        mockMvc.perform(get("/api/products").param("ids", "2,1,999,2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.products.length()").value(2))
+                .andExpect(jsonPath("$.products[0].id").value(2))
+                .andExpect(jsonPath("$.products[1].id").value(1))
+                .andExpect(jsonPath("$.missingIds").value(999));
+    }
+    
+    @Test
+    public void testGetProductsByIdsInBody() throws Exception {
+        // More ids than fit in one IN query
+        List<Long> ids = LongStream.rangeClosed(1, 800).boxed().collect(Collectors.toList());
+        long existing = productRepository.count();
+        
+        mockMvc.perform(post("/api/products/multi-get")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(ids)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.products.length()").value(existing))
+                .andExpect(jsonPath("$.missingIds.length()").value(800 - existing));
+    }
+    
+    @Test
+    public void testTooManyIdsIsRejected() throws Exception {
+        List<Long> ids = LongStream.rangeClosed(1, 1001).boxed().collect(Collectors.toList());
+        
+        mockMvc.perform(post("/api/products/multi-get")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(ids)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("At most 1000 ids can be requested at once, got 1001"));
+    }
+    
+    // mvn test -Dtest=ProductControllerTests -Dmultiget.benchmark.rounds=200
+    @Test
+    @EnabledIfSystemProperty(named = "multiget.benchmark.rounds", matches = "\\d+")
+    public void benchmarkMultiGetAgainstSingleCalls() throws Exception {
+        List<Long> ids = productRepository.findAll().stream().map(Product::getId).collect(Collectors.toList());
+        String idParam = ids.stream().map(String::valueOf).collect(Collectors.joining(","));
+        int rounds = Integer.parseInt(System.getProperty("multiget.benchmark.rounds"));
+        
+        // Warm up both paths first
+        for (int i = 0; i < 20; i++) {
+            getOneByOne(ids);
+            mockMvc.perform(get("/api/products").param("ids", idParam)).andExpect(status().isOk());
+        }
+        
+        long start = System.nanoTime();
+        for (int i = 0; i < rounds; i++) {
+            getOneByOne(ids);
+        }
+        long singleCallsNanos = System.nanoTime() - start;
+        
+        start = System.nanoTime();
+        for (int i = 0; i < rounds; i++) {
+            mockMvc.perform(get("/api/products").param("ids", idParam)).andExpect(status().isOk());
+        }
+        long multiGetNanos = System.nanoTime() - start;
+        
+        System.out.printf("%d products: %d single calls %.2f ms, one multi-get %.2f ms%n", ids.size(), ids.size(),
+                singleCallsNanos / 1e6 / rounds, multiGetNanos / 1e6 / rounds);
+        assertThat(multiGetNanos).isLessThan(singleCallsNanos);
+    }
+    
+    @Test
+    public void testPatchProductWithMergePatch() throws Exception {
+        // Given the data.sql inserts, patch the plant pot's price and stock only
+        mockMvc.perform(patch("/api/products/9")
+                .contentType("application/merge-patch+json")
+                .content("{\"price\": 21.5, \"stockQuantity\": 80}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("Plant Pot"))
+                .andExpect(jsonPath("$.price").value(21.5))
+                .andExpect(jsonPath("$.stockQuantity").value(80));
+        
+        Product product = productRepository.findById(9L).orElseThrow();
+        assertThat(product.getPrice()).isEqualTo(21.5);
+        assertThat(product.getDescription()).isEqualTo("Ceramic pot for indoor plants");
+    }
+    
+    @Test
+    public void testInvalidPatchIsRejected() throws Exception {
+        mockMvc.perform(patch("/api/products/8")
+                .contentType("application/merge-patch+json")
+                .content("{\"name\": \"  \"}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Product name is required"));
+        
+        mockMvc.perform(patch("/api/products/8")
+                .contentType("application/merge-patch+json")
+                .content("{\"stockQuantity\": 1.5}"))
+                .andExpect(status().isBadRequest());
+        
+        mockMvc.perform(patch("/api/products/12345")
+                .contentType("application/merge-patch+json")
+                .content("{\"price\": 1}"))
+                .andExpect(status().isNotFound());
+        
+        // The rejected patches left the product unchanged
+        assertThat(productRepository.findById(8L).orElseThrow().getName()).isEqualTo("Coffee Table");
+    }
+    
+    private void getOneByOne(List<Long> ids) throws Exception {
+        for (Long id : ids) {
+            mockMvc.perform(get("/api/products/" + id)).andExpect(status().isOk());
+        }
+    }
+}
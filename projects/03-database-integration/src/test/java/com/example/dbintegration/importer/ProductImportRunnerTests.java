@@ -0,0 +1,46 @@
+package com.example.dbintegration.importer;
+
+import com.example.dbintegration.config.ImportProperties;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class ProductImportRunnerTests {
+    
+    @Test
+    public void testStatusReportsCompletedImport() throws Exception {
+        ProductImportService importService = mock(ProductImportService.class);
+        when(importService.importFile(any(Path.class))).thenReturn(new ImportResult(3, 1, Duration.ofMillis(5)));
+        ProductImportRunner runner = new ProductImportRunner(importService, properties());
+        
+        assertThat(runner.getStatus().getState()).isEqualTo(ImportStatus.State.PENDING);
+        
+        runner.run(null);
+        
+        assertThat(runner.getStatus()).isEqualTo(new ImportStatus(ImportStatus.State.COMPLETED, 3, 1));
+    }
+    
+    @Test
+    public void testStatusReportsFailedImport() throws Exception {
+        ProductImportService importService = mock(ProductImportService.class);
+        when(importService.importFile(any(Path.class))).thenThrow(new IllegalStateException("Import failed"));
+        ProductImportRunner runner = new ProductImportRunner(importService, properties());
+        
+        assertThatThrownBy(() -> runner.run(null)).isInstanceOf(IllegalStateException.class);
+        
+        assertThat(runner.getStatus().getState()).isEqualTo(ImportStatus.State.FAILED);
+    }
+    
+    private static ImportProperties properties() {
+        ImportProperties properties = new ImportProperties();
+        properties.setFile("products.csv");
+        return properties;
+    }
+}
@@ -0,0 +1,158 @@
+package com.example.dbintegration.importer;
+
+import com.example.dbintegration.config.ImportProperties;
+import com.example.dbintegration.repository.CategoryRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.util.unit.DataSize;
+
+import java.io.BufferedWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Runs against its own in-memory database so imported rows don't leak into other tests
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:importdb",
+        "spring.jpa.show-sql=false",
+        "logging.level.org.hibernate.SQL=INFO",
+        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=INFO"
+})
+public class ProductImportServiceTests {
+    
+    @Autowired
+    private ProductImportService productImportService;
+    
+    @Autowired
+    private CategoryRepository categoryRepository;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Autowired
+    private ImportProperties importProperties;
+    
+    @TempDir
+    Path tempDir;
+    
+    @Test
+    public void testImportCsv() throws Exception {
+        Path file = tempDir.resolve("products.csv");
+        Files.writeString(file, String.join("\n",
+                "name,description,price,stock_quantity,category",
+                "CsvImport Kettle,\"Steel kettle, 1.7l\",29.99,40,home & garden",
+                "CsvImport Poster,\"The \"\"Classic\"\" print\",9.5,0,CsvImport Art",
+                "CsvImport Broken,missing price,,3,Books",
+                "CsvImport Unparseable,bad price,abc,3,Books") + "\r\n");
+        
+        ImportResult result = productImportService.importFile(file);
+        
+        assertThat(result.getRowsImported()).isEqualTo(2);
+        assertThat(result.getRowsRejected()).isEqualTo(2);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT description FROM products WHERE name = 'CsvImport Poster'", String.class))
+                .isEqualTo("The \"Classic\" print");
+        
+        // Existing categories are matched ignoring case; unknown ones are created
+        Long homeAndGarden = categoryRepository.findByNameIgnoreCase("Home & Garden").get().getId();
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT category_id FROM products WHERE name = 'CsvImport Kettle'", Long.class))
+                .isEqualTo(homeAndGarden);
+        assertThat(categoryRepository.existsByNameIgnoreCase("CsvImport Art")).isTrue();
+    }
+    
+    @Test
+    public void testValuesTooLongForTheirColumnAreRejected() throws Exception {
+        Path file = tempDir.resolve("long-values.csv");
+        Files.writeString(file, String.join("\n",
+                "name,description,price,category",
+                "TooLong " + "n".repeat(300) + ",fine,5.0,Books",
+                "TooLong description," + "d".repeat(1001) + ",5.0,Books",
+                "TooLong category,fine,5.0," + "c".repeat(256),
+                "TooLong Fits,fine,5.0,Books") + "\n");
+        
+        ImportResult result = productImportService.importFile(file);
+        
+        // The other rows of the batch are still imported
+        assertThat(result.getRowsImported()).isEqualTo(1);
+        assertThat(result.getRowsRejected()).isEqualTo(3);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM products WHERE name LIKE 'TooLong%'", Long.class)).isEqualTo(1);
+    }
+    
+    @Test
+    public void testImportNdjson() throws Exception {
+        Path file = tempDir.resolve("products.ndjson");
+        Files.writeString(file, String.join("\n",
+                "{\"name\":\"JsonImport Lamp\",\"price\":15.0,\"stockQuantity\":7,\"category\":\"Electronics\"}",
+                "{\"name\":\"JsonImport Mug\",\"price\":\"4.25\",\"category\":{\"name\":\"Home & Garden\"},\"sku\":[1,2]}",
+                "not json",
+                ""));
+        
+        ImportResult result = productImportService.importFile(file);
+        
+        assertThat(result.getRowsImported()).isEqualTo(2);
+        assertThat(result.getRowsRejected()).isEqualTo(1);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT stock_quantity FROM products WHERE name = 'JsonImport Lamp'", Integer.class))
+                .isEqualTo(7);
+    }
+    
+    @Test
+    public void testParallelChunksCreateNewCategoryOnce() throws Exception {
+        Path file = tempDir.resolve("categories.csv");
+        StringBuilder csv = new StringBuilder("name,price,category\n");
+        for (int i = 0; i < 2000; i++) {
+            csv.append("ChunkImport Hammer ").append(i).append(",12.5,")
+                    .append(i % 2 == 0 ? "ChunkImport Tools" : "chunkimport TOOLS").append('\n');
+        }
+        Files.writeString(file, csv);
+        
+        // Small chunks, so many workers meet the unknown category at the same time
+        DataSize chunkSize = importProperties.getChunkSize();
+        importProperties.setChunkSize(DataSize.ofBytes(512));
+        try {
+            ImportResult result = productImportService.importFile(file);
+            assertThat(result.getRowsImported()).isEqualTo(2000);
+        } finally {
+            importProperties.setChunkSize(chunkSize);
+        }
+        
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM categories WHERE LOWER(name) = 'chunkimport tools'", Integer.class))
+                .isEqualTo(1);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(DISTINCT category_id) FROM products WHERE name LIKE 'ChunkImport Hammer %'", Integer.class))
+                .isEqualTo(1);
+    }
+    
+    // mvn test -Dtest=ProductImportServiceTests -Dimport.benchmark.rows=5000000 -DargLine=-Xmx4g
+    @Test
+    @EnabledIfSystemProperty(named = "import.benchmark.rows", matches = "\\d+")
+    public void benchmarkCsvImport() throws Exception {
+        long rows = Long.parseLong(System.getProperty("import.benchmark.rows"));
+        String[] categories = {"Electronics", "Clothing", "Books", "Home & Garden"};
+        
+        Path file = tempDir.resolve("benchmark.csv");
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            writer.write("name,description,price,stockQuantity,category\n");
+            for (long i = 0; i < rows; i++) {
+                writer.write("Benchmark product " + i + ",Generated for the import benchmark,"
+                        + (1 + i % 1000) + ".99," + (i % 500) + "," + categories[(int) (i % categories.length)] + "\n");
+            }
+        }
+        
+        ImportResult result = productImportService.importFile(file);
+        
+        System.out.printf("Imported %d rows (%d MB) in %d ms: %.0f rows/sec%n",
+                result.getRowsImported(), Files.size(file) / (1024 * 1024),
+                result.getElapsed().toMillis(), result.getRowsPerSecond());
+        assertThat(result.getRowsImported()).isEqualTo(rows);
+    }
+}
@@ -0,0 +1,120 @@
+package com.example.dbintegration.service;
+
+import com.example.dbintegration.model.Product;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Coalesced reads against the real database, with products that have a category.
+// Runs against its own in-memory database so data.sql is loaded only once into it.
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:servicedb",
+        "spring.jpa.show-sql=false",
+        "logging.level.org.hibernate.SQL=INFO",
+        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=INFO"
+})
+public class ProductServiceIntegrationTests {
+    
+    private static final int CONCURRENT_REQUESTS = 32;
+    
+    @Autowired
+    private ProductService productService;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    @Test
+    public void testCoalescedProductCanBeSerializedOnAnyThread() throws Exception {
+        // Given the data.sql inserts, product 1 (Smartphone) is in category 1 (Electronics).
+        // Each caller serializes its result on its own thread after the loading call has
+        // returned, as a follower request would.
+        List<JsonNode> results = concurrently(() -> serialize(productService.getProductById(1L)));
+        
+        for (JsonNode product : results) {
+            assertThat(product.path("name").asText()).isEqualTo("Smartphone");
+            assertThat(product.path("category").path("name").asText()).isEqualTo("Electronics");
+        }
+    }
+    
+    @Test
+    public void testCoalescedSearchAndPriceRangeIncludeCategories() throws Exception {
+        List<JsonNode> searches = concurrently(() -> serialize(productService.searchProductsByName("java")));
+        List<JsonNode> ranges = concurrently(() -> serialize(productService.getProductsByPriceRange(40, 50)));
+        
+        for (JsonNode products : searches) {
+            assertThat(products.size()).isEqualTo(1);
+            assertThat(products.path(0).path("category").path("name").asText()).isEqualTo("Books");
+        }
+        for (JsonNode products : ranges) {
+            // Jeans (Clothing) and Spring Boot in Action (Books)
+            assertThat(products.size()).isEqualTo(2);
+            for (JsonNode product : products) {
+                assertThat(product.path("category").path("name").asText()).isNotEmpty();
+            }
+        }
+    }
+    
+    @Test
+    public void testMultiGetLoadsCategoriesWithTheProducts() {
+        // Outside a transaction, lazy category proxies could not be initialized any more
+        List<Product> products = productService.getProductsByIds(List.of(1L, 4L, 7L)).getProducts();
+        
+        assertThat(products).extracting(product -> product.getCategory().getName())
+                .containsExactly("Electronics", "Clothing", "Books");
+    }
+    
+    @Test
+    public void testSharedResultIsNotAManagedEntity() {
+        Product first = productService.getProductById(1L);
+        Product second = productService.getProductById(1L);
+        
+        // Plain copies: modifying one caller's result never affects another caller or the database
+        first.setName("Changed by one caller");
+        assertThat(second.getName()).isEqualTo("Smartphone");
+        assertThat(productService.getProductById(1L).getName()).isEqualTo("Smartphone");
+    }
+    
+    private JsonNode serialize(Object value) {
+        try {
+            return objectMapper.readTree(objectMapper.writeValueAsString(value));
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+    
+    private static <T> List<T> concurrently(Supplier<T> call) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(CONCURRENT_REQUESTS);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<T>> futures = new ArrayList<>();
+            for (int i = 0; i < CONCURRENT_REQUESTS; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return call.get();
+                }));
+            }
+            start.countDown();
+            
+            List<T> results = new ArrayList<>();
+            for (Future<T> future : futures) {
+                results.add(future.get(10, TimeUnit.SECONDS));
+            }
+            return results;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
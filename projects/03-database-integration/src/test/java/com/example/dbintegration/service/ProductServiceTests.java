@@ -0,0 +1,74 @@
+package com.example.dbintegration.service;
+
+import com.example.dbintegration.config.SingleFlightProperties;
+import com.example.dbintegration.model.Product;
+import com.example.dbintegration.repository.CategoryRepository;
+import com.example.dbintegration.repository.ProductRepository;
+import org.junit.jupiter.api.Test;
+
+import javax.validation.Validation;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class ProductServiceTests {
+    
+    private static final int CONCURRENT_REQUESTS = 64;
+    
+    @Test
+    public void testConcurrentGetProductByIdSharesOneQuery() throws Exception {
+        int queries = runHotProductLookups(true);
+        int baseline = runHotProductLookups(false);
+        
+        assertThat(baseline).isEqualTo(CONCURRENT_REQUESTS);
+        assertThat(queries).isLessThan(CONCURRENT_REQUESTS / 4);
+    }
+    
+    // Fire concurrent lookups for the same id against a slow repository and count the queries
+    private int runHotProductLookups(boolean singleFlightEnabled) throws Exception {
+        AtomicInteger queries = new AtomicInteger();
+        ProductRepository productRepository = mock(ProductRepository.class);
+        when(productRepository.findWithCategoryById(anyLong())).thenAnswer(invocation -> {
+            queries.incrementAndGet();
+            Thread.sleep(200);
+            return Optional.of(new Product());
+        });
+        
+        SingleFlightProperties properties = new SingleFlightProperties();
+        properties.getById().setEnabled(singleFlightEnabled);
+        ProductService productService = new ProductService(
+                productRepository, mock(CategoryRepository.class), properties, Optional.empty(),
+                Validation.buildDefaultValidatorFactory().getValidator());
+        
+        ExecutorService executor = Executors.newFixedThreadPool(CONCURRENT_REQUESTS);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<Product>> results = new ArrayList<>();
+            for (int i = 0; i < CONCURRENT_REQUESTS; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return productService.getProductById(1L);
+                }));
+            }
+            start.countDown();
+            for (Future<Product> result : results) {
+                assertThat(result.get(10, TimeUnit.SECONDS)).isNotNull();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        return queries.get();
+    }
+}
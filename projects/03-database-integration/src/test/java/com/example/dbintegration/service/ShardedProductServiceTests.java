@@ -0,0 +1,152 @@
+package com.example.dbintegration.service;
+
+import com.example.dbintegration.importer.ImportResult;
+import com.example.dbintegration.importer.ProductImportService;
+import com.example.dbintegration.model.Product;
+import com.example.dbintegration.patch.ProductMergePatch;
+import com.example.dbintegration.sharding.CrossShardCategoryChangeException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.persistence.EntityNotFoundException;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// ProductService with products spread over three in-memory shards by category.
+// Given the data.sql inserts, categories 1 (Electronics), 2 (Clothing) and 3 (Books)
+// map to shards 1, 2 and 0.
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:shardedservicedb",
+        "app.sharding.enabled=true",
+        "app.sharding.strategy=category",
+        "app.sharding.urls=jdbc:h2:mem:service-shard-0,jdbc:h2:mem:service-shard-1,jdbc:h2:mem:service-shard-2",
+        "spring.jpa.show-sql=false",
+        "logging.level.org.hibernate.SQL=INFO",
+        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=INFO"
+})
+public class ShardedProductServiceTests {
+    
+    @Autowired
+    private ProductService productService;
+    
+    @Autowired
+    private ProductImportService productImportService;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @TempDir
+    Path tempDir;
+    
+    @Test
+    public void testUpdateToCategoryOnAnotherShardIsRejected() {
+        Product created = productService.createProduct(product("Pinned Cable"), 1L);
+        
+        assertThatThrownBy(() -> productService.updateProduct(created.getId(), product("Renamed Cable"), 2L))
+                .isInstanceOf(CrossShardCategoryChangeException.class);
+        
+        // The product keeps its id, category and fields
+        Product found = productService.getProductById(created.getId());
+        assertThat(found.getName()).isEqualTo("Pinned Cable");
+        assertThat(found.getCategory().getId()).isEqualTo(1L);
+        assertThat(productService.getProductsByCategory(2L)).extracting(Product::getName).doesNotContain("Pinned Cable");
+    }
+    
+    @Test
+    public void testPatchToCategoryOnAnotherShardIsRejected() throws Exception {
+        Product created = productService.createProduct(product("Pinned Novel"), 1L);
+        
+        assertThatThrownBy(() -> productService.patchProduct(created.getId(), patch("{\"price\": 12.5}"), 3L))
+                .isInstanceOf(CrossShardCategoryChangeException.class);
+        
+        Product found = productService.getProductById(created.getId());
+        assertThat(found.getPrice()).isEqualTo(10.0);
+        assertThat(found.getCategory().getId()).isEqualTo(1L);
+    }
+    
+    @Test
+    public void testCategoryChangeOnSameShardKeepsId() {
+        // Categories 1 and 4 both map to shard 1
+        Product created = productService.createProduct(product("Garden Speaker"), 1L);
+        
+        Product updated = productService.updateProduct(created.getId(), product("Garden Speaker"), 4L);
+        
+        assertThat(updated.getId()).isEqualTo(created.getId());
+        assertThat(productService.getProductsByCategory(4L)).extracting(Product::getName).contains("Garden Speaker");
+        assertThat(productService.getProductsByCategory(1L)).extracting(Product::getName).doesNotContain("Garden Speaker");
+    }
+    
+    @Test
+    public void testUpdateWithinCategoryShardKeepsId() {
+        Product created = productService.createProduct(product("Staying Lamp"), 1L);
+        
+        Product updated = productService.updateProduct(created.getId(), product("Staying Lamp v2"), 1L);
+        
+        assertThat(updated.getId()).isEqualTo(created.getId());
+        assertThat(productService.getProductById(created.getId()).getName()).isEqualTo("Staying Lamp v2");
+    }
+    
+    @Test
+    public void testProductsFromShardsHaveFullCategories() {
+        Product created = productService.createProduct(product("Category Probe"), 3L);
+        
+        // Same response shape as without sharding: the category comes from the primary database
+        assertThat(productService.getProductById(created.getId()).getCategory().getName()).isEqualTo("Books");
+        assertThat(productService.searchProductsByName("Category Probe"))
+                .extracting(product -> product.getCategory().getName()).containsExactly("Books");
+        assertThat(productService.getProductsByCategory(3L))
+                .extracting(product -> product.getCategory().getName()).containsOnly("Books");
+        assertThat(productService.getProductsByIds(List.of(created.getId())).getProducts())
+                .extracting(product -> product.getCategory().getDescription()).doesNotContainNull();
+    }
+    
+    @Test
+    public void testImportWritesToShards() throws Exception {
+        Path file = tempDir.resolve("products.csv");
+        Files.writeString(file, String.join("\n",
+                "name,price,stockQuantity,category",
+                "ShardImport Tablet,199.0,3,Electronics",
+                "ShardImport Scarf,15.0,8,clothing",
+                "ShardImport Atlas,30.0,2,Books") + "\n");
+        long primaryCount = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM products", Long.class);
+        
+        ImportResult result = productImportService.importFile(file);
+        
+        assertThat(result.getRowsImported()).isEqualTo(3);
+        List<Product> imported = productService.searchProductsByName("ShardImport");
+        assertThat(imported).hasSize(3);
+        for (Product product : imported) {
+            // Each product sits on its category's shard
+            assertThat(product.getId() % 3).isEqualTo(Math.floorMod(product.getCategory().getId(), 3));
+        }
+        assertThat(productService.getProductsByCategory(2L)).extracting(Product::getName).contains("ShardImport Scarf");
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM products", Long.class)).isEqualTo(primaryCount);
+    }
+    
+    private ProductMergePatch patch(String json) throws Exception {
+        return ProductMergePatch.read(objectMapper.getFactory(),
+                new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)));
+    }
+    
+    private static Product product(String name) {
+        Product product = new Product();
+        product.setName(name);
+        product.setDescription("Sharded service test");
+        product.setPrice(10.0);
+        product.setStockQuantity(5);
+        return product;
+    }
+}
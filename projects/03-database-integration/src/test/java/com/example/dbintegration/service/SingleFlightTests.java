@@ -0,0 +1,158 @@
+package com.example.dbintegration.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class SingleFlightTests {
+    
+    @Test
+    public void testFollowerSharesLeaderResult() throws Exception {
+        SingleFlight<String, String> singleFlight = new SingleFlight<>(true, Duration.ofSeconds(5));
+        CountDownLatch leaderStarted = new CountDownLatch(1);
+        CountDownLatch releaseLeader = new CountDownLatch(1);
+        AtomicInteger loads = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        
+        try {
+            Future<String> leader = executor.submit(() -> singleFlight.execute("key", () -> {
+                loads.incrementAndGet();
+                leaderStarted.countDown();
+                await(releaseLeader);
+                return "leader";
+            }));
+            leaderStarted.await(5, TimeUnit.SECONDS);
+            
+            Future<String> follower = executor.submit(() -> singleFlight.execute("key", () -> {
+                loads.incrementAndGet();
+                return "follower";
+            }));
+            
+            // Give the follower time to join the in-flight call before releasing it
+            Thread.sleep(100);
+            releaseLeader.countDown();
+            
+            assertThat(leader.get(5, TimeUnit.SECONDS)).isEqualTo("leader");
+            assertThat(follower.get(5, TimeUnit.SECONDS)).isEqualTo("leader");
+            assertThat(loads.get()).isEqualTo(1);
+            assertThat(singleFlight.inFlightCount()).isZero();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+    
+    @Test
+    public void testExceptionIsPropagatedAndNotRemembered() {
+        SingleFlight<String, String> singleFlight = new SingleFlight<>(true, Duration.ofSeconds(5));
+        
+        assertThatThrownBy(() -> singleFlight.execute("key", () -> {
+            throw new IllegalArgumentException("boom");
+        })).isInstanceOf(IllegalArgumentException.class);
+        
+        // A failed load must not stick; the next call runs again
+        assertThat(singleFlight.execute("key", () -> "ok")).isEqualTo("ok");
+        assertThat(singleFlight.inFlightCount()).isZero();
+    }
+    
+    @Test
+    public void testFollowerLoadsOnItsOwnAfterTimeout() throws Exception {
+        SingleFlight<String, String> singleFlight = new SingleFlight<>(true, Duration.ofMillis(50));
+        CountDownLatch leaderStarted = new CountDownLatch(1);
+        CountDownLatch releaseLeader = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        
+        try {
+            Future<String> leader = executor.submit(() -> singleFlight.execute("key", () -> {
+                leaderStarted.countDown();
+                await(releaseLeader);
+                return "slow";
+            }));
+            leaderStarted.await(5, TimeUnit.SECONDS);
+            
+            assertThat(singleFlight.execute("key", () -> "fallback")).isEqualTo("fallback");
+            
+            releaseLeader.countDown();
+            assertThat(leader.get(5, TimeUnit.SECONDS)).isEqualTo("slow");
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+    
+    @Test
+    public void testFollowerTakesOverFromStuckLeader() throws Exception {
+        SingleFlight<String, String> singleFlight = new SingleFlight<>(true, Duration.ofMillis(300));
+        CountDownLatch leaderStarted = new CountDownLatch(1);
+        CountDownLatch releaseLeader = new CountDownLatch(1);
+        CountDownLatch takeoverStarted = new CountDownLatch(1);
+        CountDownLatch releaseTakeover = new CountDownLatch(1);
+        AtomicInteger loads = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+        
+        try {
+            Future<String> leader = executor.submit(() -> singleFlight.execute("key", () -> {
+                loads.incrementAndGet();
+                leaderStarted.countDown();
+                await(releaseLeader);
+                return "stuck";
+            }));
+            leaderStarted.await(5, TimeUnit.SECONDS);
+            
+            // Times out on the stuck leader and becomes the leader itself
+            Future<String> takeover = executor.submit(() -> singleFlight.execute("key", () -> {
+                loads.incrementAndGet();
+                takeoverStarted.countDown();
+                await(releaseTakeover);
+                return "takeover";
+            }));
+            assertThat(takeoverStarted.await(5, TimeUnit.SECONDS)).isTrue();
+            
+            // A later caller joins the new leader, not the stuck one
+            Future<String> later = executor.submit(() -> singleFlight.execute("key", () -> {
+                loads.incrementAndGet();
+                return "later";
+            }));
+            // Give it time to join, well within the timeout
+            Thread.sleep(100);
+            releaseTakeover.countDown();
+            
+            assertThat(takeover.get(5, TimeUnit.SECONDS)).isEqualTo("takeover");
+            assertThat(later.get(5, TimeUnit.SECONDS)).isEqualTo("takeover");
+            assertThat(loads.get()).isEqualTo(2);
+            
+            // The stuck leader finishing later must not remove anything
+            releaseLeader.countDown();
+            assertThat(leader.get(5, TimeUnit.SECONDS)).isEqualTo("stuck");
+            assertThat(singleFlight.inFlightCount()).isZero();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+    
+    @Test
+    public void testDisabledAlwaysLoads() {
+        SingleFlight<String, Integer> singleFlight = new SingleFlight<>(false, Duration.ofSeconds(5));
+        AtomicInteger loads = new AtomicInteger();
+        
+        singleFlight.execute("key", loads::incrementAndGet);
+        singleFlight.execute("key", loads::incrementAndGet);
+        
+        assertThat(loads.get()).isEqualTo(2);
+    }
+    
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
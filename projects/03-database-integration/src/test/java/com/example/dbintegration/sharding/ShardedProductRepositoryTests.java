@@ -0,0 +1,207 @@
+package com.example.dbintegration.sharding;
+
+import com.example.dbintegration.config.ShardingProperties;
+import com.example.dbintegration.model.Category;
+import com.example.dbintegration.model.Product;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Each test gets its own set of in-memory H2 databases, one per shard
+public class ShardedProductRepositoryTests {
+    
+    private final List<ShardedProductRepository> repositories = new ArrayList<>();
+    
+    @AfterEach
+    public void closeShards() {
+        repositories.forEach(ShardedProductRepository::destroy);
+    }
+    
+    @Test
+    public void testFindByIdRoutesToOwningShard() {
+        ShardedProductRepository repository = createRepository(3, ShardingProperties.Strategy.ID);
+        
+        List<Product> saved = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            saved.add(repository.save(product("Product " + i, 10 + i, null)));
+        }
+        
+        // Ids are spread over all shards and each one can be found again
+        assertThat(saved.stream().map(p -> p.getId() % 3).distinct()).hasSize(3);
+        for (Product product : saved) {
+            assertThat(repository.findById(product.getId())).get()
+                    .extracting(Product::getName).isEqualTo(product.getName());
+        }
+    }
+    
+    @Test
+    public void testFindAllByIdQueriesEachShard() {
+        ShardedProductRepository repository = createRepository(3, ShardingProperties.Strategy.ID);
+        
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            ids.add(repository.save(product("Product " + i, 10, null)).getId());
+        }
+        ids.add(999_999L);
+        
+        assertThat(repository.findAllById(ids)).extracting(Product::getId)
+                .containsExactlyInAnyOrderElementsOf(ids.subList(0, 5));
+    }
+    
+    @Test
+    public void testCategoryStrategyKeepsCategoryOnOneShard() {
+        ShardedProductRepository repository = createRepository(4, ShardingProperties.Strategy.CATEGORY);
+        
+        for (int i = 0; i < 8; i++) {
+            repository.save(product("Book " + i, 20, 3L));
+            repository.save(product("Shirt " + i, 15, 2L));
+        }
+        
+        List<Product> books = repository.findByCategoryId(3L);
+        assertThat(books).hasSize(8);
+        assertThat(books.stream().map(p -> p.getId() % 4).distinct()).containsExactly(3L);
+    }
+    
+    @Test
+    public void testFanOutQueriesMergeAllShards() {
+        ShardedProductRepository repository = createRepository(3, ShardingProperties.Strategy.ID);
+        
+        repository.save(product("Smartphone", 699.99, 1L));
+        repository.save(product("Phone case", 19.99, 1L));
+        repository.save(product("Laptop", 1299.99, 1L));
+        repository.save(product("Headphones", 199.99, 1L));
+        
+        List<Product> phones = repository.findByNameContainingIgnoreCase("PHONE");
+        assertThat(phones).extracting(Product::getName)
+                .containsExactlyInAnyOrder("Smartphone", "Phone case", "Headphones");
+        assertThat(phones).isSortedAccordingTo(Comparator.comparing(Product::getId));
+        
+        assertThat(repository.findByPriceBetween(100, 1000)).extracting(Product::getName)
+                .containsExactlyInAnyOrder("Smartphone", "Headphones");
+    }
+    
+    @Test
+    public void testPaginationMatchesSingleDatabaseOrder() {
+        ShardedProductRepository repository = createRepository(3, ShardingProperties.Strategy.ID);
+        
+        for (int i = 0; i < 25; i++) {
+            repository.save(product("Product " + i, (i * 37) % 11 + 1, null));
+        }
+        List<Product> all = repository.findAll();
+        Sort sort = Sort.by(Sort.Direction.DESC, "price");
+        List<Product> expected = all.stream()
+                .sorted(Comparator.comparing(Product::getPrice).reversed().thenComparing(Product::getId))
+                .collect(Collectors.toList());
+        
+        Page<Product> page = repository.findAll(PageRequest.of(2, 7, sort));
+        
+        assertThat(page.getTotalElements()).isEqualTo(25);
+        assertThat(page.getTotalPages()).isEqualTo(4);
+        assertThat(page.getContent()).extracting(Product::getId)
+                .containsExactlyElementsOf(expected.subList(14, 21).stream()
+                        .map(Product::getId).collect(Collectors.toList()));
+    }
+    
+    @Test
+    public void testUpdateAndDelete() {
+        ShardedProductRepository repository = createRepository(2, ShardingProperties.Strategy.ID);
+        Product product = repository.save(product("Jeans", 49.99, 2L));
+        
+        product.setStockQuantity(3);
+        repository.save(product);
+        assertThat(repository.findByStockQuantityLessThan(5)).extracting(Product::getId)
+                .containsExactly(product.getId());
+        
+        // Only the listed columns are written
+        Product patched = repository.findById(product.getId()).orElseThrow();
+        patched.setPrice(39.99);
+        patched.setName("Not saved");
+        repository.update(patched, List.of("price"));
+        assertThat(repository.findById(product.getId())).get()
+                .extracting(Product::getName, Product::getPrice).containsExactly("Jeans", 39.99);
+        
+        repository.delete(product);
+        assertThat(repository.findById(product.getId())).isEmpty();
+    }
+    
+    // mvn test -Dtest=ShardedProductRepositoryTests -Dsharding.benchmark.rows=400000
+    @Test
+    @EnabledIfSystemProperty(named = "sharding.benchmark.rows", matches = "\\d+")
+    public void benchmarkShardScaling() {
+        int rows = Integer.parseInt(System.getProperty("sharding.benchmark.rows"));
+        
+        for (int shardCount : new int[] {1, 2, 4, 8}) {
+            ShardedProductRepository repository = createRepository(shardCount, ShardingProperties.Strategy.ID);
+            
+            List<Product> products = new ArrayList<>(rows);
+            for (int i = 0; i < rows; i++) {
+                products.add(product("Benchmark product " + i, 1 + i % 1000, (long) (i % 4 + 1)));
+            }
+            long start = System.nanoTime();
+            repository.saveAll(products);
+            double insertSeconds = (System.nanoTime() - start) / 1_000_000_000.0;
+            
+            long searchNanos = time(() -> repository.findByNameContainingIgnoreCase("product 99"));
+            long rangeNanos = time(() -> repository.findByPriceBetween(100, 110));
+            long pageNanos = time(() -> repository.findAll(PageRequest.of(10, 20, Sort.by("price"))));
+            
+            System.out.printf("%d shard(s): insert %.0f rows/sec, search %.1f ms, price range %.1f ms, page %.1f ms%n",
+                    shardCount, rows / insertSeconds, searchNanos / 1e6, rangeNanos / 1e6, pageNanos / 1e6);
+            assertThat(repository.findAll(PageRequest.of(0, 1)).getTotalElements()).isEqualTo(rows);
+        }
+    }
+    
+    // Median of several runs, after a warm-up run
+    private static long time(Runnable query) {
+        query.run();
+        long[] samples = new long[9];
+        for (int i = 0; i < samples.length; i++) {
+            long start = System.nanoTime();
+            query.run();
+            samples[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(samples);
+        return samples[samples.length / 2];
+    }
+    
+    private ShardedProductRepository createRepository(int shardCount, ShardingProperties.Strategy strategy) {
+        String prefix = "shard-" + UUID.randomUUID();
+        ShardingProperties properties = new ShardingProperties();
+        properties.setStrategy(strategy);
+        // Benchmark batches of several hundred thousand rows take longer than the default timeout
+        properties.setQueryTimeout(Duration.ofMinutes(5));
+        for (int shard = 0; shard < shardCount; shard++) {
+            properties.getUrls().add("jdbc:h2:mem:" + prefix + "-" + shard);
+        }
+        
+        ShardedProductRepository repository = new ShardedProductRepository(properties);
+        repositories.add(repository);
+        return repository;
+    }
+    
+    private static Product product(String name, double price, Long categoryId) {
+        Product product = new Product();
+        product.setName(name);
+        product.setPrice(price);
+        product.setStockQuantity(10);
+        if (categoryId != null) {
+            Category category = new Category();
+            category.setId(categoryId);
+            product.setCategory(category);
+        }
+        return product;
+    }
+}
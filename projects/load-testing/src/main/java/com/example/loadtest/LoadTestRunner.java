@@ -0,0 +1,182 @@
+package com.example.loadtest;
+
+import com.example.loadtest.config.LoadTestProperties;
+import com.example.loadtest.launcher.AppLauncher;
+import com.example.loadtest.launcher.CatalogSeeder;
+import com.example.loadtest.launcher.TargetApp;
+import com.example.loadtest.report.LatencyRecorder;
+import com.example.loadtest.report.LoadTestReport;
+import com.example.loadtest.report.OperationStats;
+import com.example.loadtest.report.SloCheck;
+import com.example.loadtest.report.SloEvaluator;
+import com.example.loadtest.scenario.OpenModelDriver;
+import com.example.loadtest.scenario.Operation;
+import com.example.loadtest.scenario.OperationMix;
+import com.example.loadtest.scenario.ProductIds;
+import com.example.loadtest.scenario.RequestFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.ExitCodeGenerator;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+// Starts the target application, loads the catalog, applies the load and writes the report.
+// The exit code is 1 when an SLO or baseline check fails.
+@Component
+public class LoadTestRunner implements ApplicationRunner, ExitCodeGenerator {
+    
+    private static final Logger logger = LoggerFactory.getLogger(LoadTestRunner.class);
+    
+    private final LoadTestProperties properties;
+    private final ObjectMapper objectMapper;
+    private int exitCode;
+    
+    @Autowired
+    public LoadTestRunner(LoadTestProperties properties, ObjectMapper objectMapper) {
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+    }
+    
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        HttpClient httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(properties.getRequestTimeout())
+                .build();
+        CatalogSeeder seeder = new CatalogSeeder(httpClient, objectMapper);
+        Path reportFile = Paths.get(properties.getReportFile()).toAbsolutePath();
+        Path workDirectory = reportFile.getParent();
+        TargetApp target = properties.getTarget();
+        
+        LoadTestReport report;
+        try (AppLauncher launcher = new AppLauncher(httpClient)) {
+            URI baseUri;
+            ProductIds productIds;
+            
+            if (StringUtils.hasText(properties.getBaseUrl())) {
+                // Already running: the catalog can only be loaded through the API
+                baseUri = URI.create(properties.getBaseUrl());
+                productIds = seeder.post(baseUri, properties.getSeedProducts(), properties.getSeedConcurrency(),
+                        properties.getRandomSeed());
+            } else {
+                List<String> appArgs = new ArrayList<>(target.getDefaultArgs());
+                Path catalog = workDirectory.resolve("load-test-catalog.csv");
+                if (target == TargetApp.DATABASE_INTEGRATION) {
+                    seeder.writeCsv(catalog, properties.getSeedProducts(), properties.getRandomSeed());
+                    appArgs.add("--app.import.file=" + catalog);
+                }
+                appArgs.addAll(properties.getAppArgs());
+                
+                Path jar = StringUtils.hasText(properties.getJar()) ? Paths.get(properties.getJar()) : target.defaultJar();
+                Path logFile = workDirectory.resolve(target.getArtifactId() + ".log");
+                baseUri = launcher.start(jar, properties.getPort(), properties.getJvmArgs(), appArgs, logFile,
+                        properties.getStartupTimeout());
+                
+                if (target == TargetApp.DATABASE_INTEGRATION) {
+                    productIds = seeder.awaitImport(baseUri, logFile, properties.getSeedProducts(),
+                            properties.getStartupTimeout());
+                } else {
+                    productIds = seeder.post(baseUri, properties.getSeedProducts(),
+                            properties.getSeedConcurrency(), properties.getRandomSeed());
+                }
+            }
+            
+            OperationMix mix = new OperationMix(properties.getMix(), target::supports);
+            RequestFactory requestFactory = new RequestFactory(baseUri, properties.getSeedProducts(), productIds,
+                    properties.getRequestTimeout(), objectMapper);
+            OpenModelDriver driver = new OpenModelDriver(httpClient, mix, requestFactory, productIds, objectMapper);
+            
+            logger.info("Sending {} requests/s for {} (after {} warmup), operations {}",
+                    properties.getArrivalRate(), properties.getDuration(), properties.getWarmup(), mix.getOperations());
+            String startedAt = Instant.now().toString();
+            Map<Operation, LatencyRecorder> results = driver.run(properties.getArrivalRate(), properties.getWarmup(),
+                    properties.getDuration(), properties.getMaxInFlight(), properties.getRandomSeed(),
+                    properties.getRequestTimeout());
+            report = report(startedAt, results);
+        }
+        
+        SloEvaluator evaluator = new SloEvaluator(properties.getSlo(), properties.getOperationSlo(),
+                properties.getMaxRegression());
+        report.setChecks(evaluator.evaluate(report, readBaseline()));
+        report.setPassed(report.getChecks().stream().allMatch(SloCheck::isPassed));
+        
+        Files.createDirectories(workDirectory);
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(reportFile.toFile(), report);
+        log(report, reportFile);
+        exitCode = report.isPassed() ? 0 : 1;
+    }
+    
+    private LoadTestReport report(String startedAt, Map<Operation, LatencyRecorder> results) {
+        Duration measured = properties.getDuration();
+        LoadTestReport report = new LoadTestReport();
+        report.setTarget(properties.getTarget().getArtifactId());
+        report.setStartedAt(startedAt);
+        report.setSeedProducts(properties.getSeedProducts());
+        report.setArrivalRate(properties.getArrivalRate());
+        report.setDurationSeconds(measured.toMillis() / 1000.0);
+        
+        LatencyRecorder overall = new LatencyRecorder();
+        for (Map.Entry<Operation, LatencyRecorder> entry : results.entrySet()) {
+            report.getOperations().put(entry.getKey().name(), OperationStats.of(entry.getValue(), measured));
+            overall.add(entry.getValue());
+        }
+        report.setOverall(OperationStats.of(overall, measured));
+        return report;
+    }
+    
+    // The baseline is optional: the first build of a comparison has none yet
+    private LoadTestReport readBaseline() throws IOException {
+        if (!StringUtils.hasText(properties.getBaselineFile())) {
+            return null;
+        }
+        Path baseline = Paths.get(properties.getBaselineFile());
+        if (!Files.exists(baseline)) {
+            logger.warn("Baseline {} not found, skipping the comparison", baseline);
+            return null;
+        }
+        return objectMapper.readValue(baseline.toFile(), LoadTestReport.class);
+    }
+    
+    private void log(LoadTestReport report, Path reportFile) {
+        StringBuilder summary = new StringBuilder(String.format(Locale.ROOT,
+                "%n%-12s %9s %7s %10s %9s %9s %9s %9s%n",
+                "operation", "requests", "errors", "req/s", "p50 ms", "p99 ms", "p99.9 ms", "max ms"));
+        report.getOperations().forEach((name, stats) -> summary.append(row(name, stats)));
+        summary.append(row("OVERALL", report.getOverall()));
+        
+        for (SloCheck check : report.getChecks()) {
+            summary.append(String.format(Locale.ROOT, "%s %-48s limit %10.2f actual %10.2f%n",
+                    check.isPassed() ? "PASS" : "FAIL", check.getName(), check.getLimit(), check.getActual()));
+        }
+        logger.info("{}", summary);
+        logger.info("Load test {}, report written to {}", report.isPassed() ? "passed" : "FAILED", reportFile);
+    }
+    
+    private static String row(String name, OperationStats stats) {
+        return String.format(Locale.ROOT, "%-12s %9d %7d %10.1f %9.2f %9.2f %9.2f %9.2f%n",
+                name, stats.getRequests(), stats.getErrors(), stats.getThroughput(),
+                stats.getP50Ms(), stats.getP99Ms(), stats.getP999Ms(), stats.getMaxMs());
+    }
+    
+    @Override
+    public int getExitCode() {
+        return exitCode;
+    }
+}
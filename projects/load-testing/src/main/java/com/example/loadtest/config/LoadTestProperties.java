@@ -0,0 +1,100 @@
+package com.example.loadtest.config;
+
+import com.example.loadtest.launcher.TargetApp;
+import com.example.loadtest.scenario.Operation;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Settings for a load test run (loadtest.*)
+@Data
+@Component
+@ConfigurationProperties(prefix = "loadtest")
+public class LoadTestProperties {
+    
+    // Application under test
+    private TargetApp target = TargetApp.SIMPLE_REST_API;
+    
+    // URL of an already running application; when empty, the target's jar is started locally
+    private String baseUrl;
+    
+    // Jar to start instead of the target's default build output
+    private String jar;
+    
+    // HTTP port for the started application
+    private int port = 18080;
+    
+    // Options for the JVM that runs the application (heap size, GC, ...)
+    private List<String> jvmArgs = new ArrayList<>();
+    
+    // Extra arguments for the application, e.g. --app.product-store=columnar
+    private List<String> appArgs = new ArrayList<>();
+    
+    // Maximum time to wait for the application to start and load its catalog
+    private Duration startupTimeout = Duration.ofMinutes(5);
+    
+    // Number of products loaded before the test starts
+    private int seedProducts = 100_000;
+    
+    // Concurrent requests used when the catalog is loaded with POST requests
+    private int seedConcurrency = 32;
+    
+    // Requests started per second (open model: independent of how fast responses come back)
+    private double arrivalRate = 200;
+    
+    // Load applied before measuring starts, so the JIT and caches settle
+    private Duration warmup = Duration.ofSeconds(10);
+    
+    // Length of the measured part of the test
+    private Duration duration = Duration.ofSeconds(60);
+    
+    // Requests slower than this count as errors
+    private Duration requestTimeout = Duration.ofSeconds(5);
+    
+    // Requests that would exceed this many outstanding requests are dropped and counted as errors
+    private int maxInFlight = 2000;
+    
+    // Seed for arrival times and request parameters, so runs send the same requests
+    private long randomSeed = 42;
+    
+    // Relative weight of each operation; operations the target does not support are ignored
+    private Map<Operation, Integer> mix = new LinkedHashMap<>();
+    
+    // Thresholds for all requests together
+    private Slo slo = new Slo();
+    
+    // Thresholds for single operations, e.g. loadtest.operation-slo.search.p99=100ms
+    private Map<Operation, Slo> operationSlo = new LinkedHashMap<>();
+    
+    // Where the JSON report is written
+    private String reportFile = "target/load-test-report.json";
+    
+    // Report of an earlier run to compare against (optional)
+    private String baselineFile;
+    
+    // Allowed increase of p99 latency and decrease of throughput relative to the baseline
+    private double maxRegression = 0.2;
+    
+    // Latency and throughput limits; limits that are not set are not checked
+    @Data
+    public static class Slo {
+        
+        private Duration p50;
+        
+        private Duration p99;
+        
+        private Duration p999;
+        
+        // Successful requests per second
+        private Double minThroughput;
+        
+        // Fraction of requests that failed, timed out or were dropped
+        private Double maxErrorRate;
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.loadtest.launcher;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Starts an application jar in its own JVM, so the load generator and the application
+// do not compete for heap and GC, and stops it again when the test is over.
+public class AppLauncher implements AutoCloseable {
+    
+    private static final Logger logger = LoggerFactory.getLogger(AppLauncher.class);
+    
+    private static final Duration POLL_INTERVAL = Duration.ofMillis(250);
+    
+    private final HttpClient httpClient;
+    private Process process;
+    
+    public AppLauncher(HttpClient httpClient) {
+        this.httpClient = httpClient;
+    }
+    
+    // Starts the jar and returns its base URL once it answers HTTP requests.
+    // The application's output goes to logFile.
+    public URI start(Path jar, int port, List<String> jvmArgs, List<String> appArgs, Path logFile,
+                     Duration timeout) throws IOException, InterruptedException {
+        if (!Files.isRegularFile(jar)) {
+            throw new IllegalStateException("Application jar not found: " + jar.toAbsolutePath()
+                    + " (build it with \"mvn package -DskipTests\" in its project directory)");
+        }
+        
+        List<String> command = new ArrayList<>();
+        command.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(jvmArgs);
+        command.add("-jar");
+        command.add(jar.toAbsolutePath().toString());
+        command.add("--server.port=" + port);
+        command.addAll(appArgs);
+        
+        Files.createDirectories(logFile.toAbsolutePath().getParent());
+        logger.info("Starting {} (output in {})", jar.getFileName(), logFile);
+        process = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(logFile.toFile())
+                .start();
+        
+        URI baseUri = URI.create("http://localhost:" + port + "/");
+        awaitHttp(baseUri, logFile, timeout);
+        return baseUri;
+    }
+    
+    // Any HTTP response (even 404 for a product that does not exist) means the server is up
+    private void awaitHttp(URI baseUri, Path logFile, Duration timeout) throws InterruptedException {
+        HttpRequest probe = HttpRequest.newBuilder(baseUri.resolve("/api/products/0"))
+                .timeout(POLL_INTERVAL.multipliedBy(4))
+                .GET()
+                .build();
+        long deadline = System.nanoTime() + timeout.toNanos();
+        
+        while (System.nanoTime() < deadline) {
+            if (!process.isAlive()) {
+                throw new IllegalStateException("Application exited with code " + process.exitValue()
+                        + " during startup, see " + logFile);
+            }
+            try {
+                httpClient.send(probe, HttpResponse.BodyHandlers.discarding());
+                return;
+            } catch (IOException e) {
+                // Not listening yet
+            }
+            Thread.sleep(POLL_INTERVAL.toMillis());
+        }
+        throw new IllegalStateException("Application did not start within " + timeout + ", see " + logFile);
+    }
+    
+    @Override
+    public void close() throws InterruptedException {
+        if (process == null || !process.isAlive()) {
+            return;
+        }
+        process.destroy();
+        if (!process.waitFor(30, TimeUnit.SECONDS)) {
+            process.destroyForcibly().waitFor();
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package com.example.loadtest.launcher;
+
+import com.example.loadtest.scenario.CatalogPricing;
+import com.example.loadtest.scenario.ProductIds;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Loads the catalog the test runs against. Product n is named "Item n"; prices and stock
+// come from a seeded Random, so every run (and every target) gets the same catalog.
+public class CatalogSeeder {
+    
+    private static final Logger logger = LoggerFactory.getLogger(CatalogSeeder.class);
+    
+    // Categories created by data.sql in the database integration project
+    private static final String[] CATEGORIES = {"Electronics", "Clothing", "Books", "Home & Garden"};
+    
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper;
+    
+    public CatalogSeeder(HttpClient httpClient, ObjectMapper objectMapper) {
+        this.httpClient = httpClient;
+        this.objectMapper = objectMapper;
+    }
+    
+    // Writes the catalog as a CSV file for the database project's bulk import (app.import.file)
+    public void writeCsv(Path file, int products, long seed) throws IOException {
+        Random random = new Random(seed);
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            writer.write("name,description,price,stockQuantity,category\n");
+            for (int n = 1; n <= products; n++) {
+                writer.write(String.format(Locale.ROOT, "Item %d,Seeded product %d,%.2f,%d,%s%n",
+                        n, n, CatalogPricing.price(random), CatalogPricing.stockQuantity(random),
+                        CATEGORIES[n % CATEGORIES.length]));
+            }
+        }
+    }
+    
+    // Waits until an import started with app.import.file has stored the catalog, then returns the id range.
+    // The product count cannot tell when the import is done: it includes the products from data.sql
+    // (unless sharding hides them), so the application's import status is polled instead.
+    public ProductIds awaitImport(URI baseUri, Path logFile, int products, Duration timeout)
+            throws IOException, InterruptedException {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        JsonNode status = get(baseUri, "/api/import/status");
+        while (!status.path("state").asText().equals("COMPLETED")) {
+            // NONE means the application was started without app.import.file
+            String state = status.path("state").asText();
+            if (state.equals("FAILED") || state.equals("NONE")) {
+                throw new IllegalStateException("Import state is " + state + ", see " + logFile);
+            }
+            if (System.nanoTime() > deadline) {
+                throw new IllegalStateException("Import did not finish within " + timeout + ", see " + logFile);
+            }
+            Thread.sleep(500);
+            status = get(baseUri, "/api/import/status");
+        }
+        
+        long imported = status.path("rowsImported").asLong();
+        if (imported != products) {
+            throw new IllegalStateException("Only " + imported + " of " + products + " products were imported ("
+                    + status.path("rowsRejected").asLong() + " rejected), see " + logFile);
+        }
+        long minId = page(baseUri, "asc").path("content").path(0).path("id").asLong();
+        long maxId = page(baseUri, "desc").path("content").path(0).path("id").asLong();
+        logger.info("{} products imported (ids {}..{})", imported, minId, maxId);
+        return new ProductIds(minId, maxId);
+    }
+    
+    private JsonNode page(URI baseUri, String direction) throws IOException, InterruptedException {
+        return get(baseUri, "/api/products/page?page=0&size=1&sortBy=id&direction=" + direction);
+    }
+    
+    private JsonNode get(URI baseUri, String path) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(baseUri.resolve(path))
+                .GET()
+                .build();
+        HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("GET " + request.uri() + " returned " + response.statusCode());
+        }
+        return objectMapper.readTree(response.body());
+    }
+    
+    // Creates the catalog with POST /api/products, keeping up to concurrency requests outstanding
+    public ProductIds post(URI baseUri, int products, int concurrency, long seed) throws InterruptedException {
+        Random random = new Random(seed);
+        Semaphore permits = new Semaphore(concurrency);
+        AtomicLong minId = new AtomicLong(Long.MAX_VALUE);
+        AtomicLong maxId = new AtomicLong(Long.MIN_VALUE);
+        AtomicLong failures = new AtomicLong();
+        URI uri = baseUri.resolve("/api/products");
+        long start = System.nanoTime();
+        
+        for (int n = 1; n <= products; n++) {
+            ObjectNode product = objectMapper.createObjectNode()
+                    .put("name", "Item " + n)
+                    .put("description", "Seeded product " + n)
+                    .put("price", CatalogPricing.price(random))
+                    .put("stockQuantity", CatalogPricing.stockQuantity(random));
+            HttpRequest request = HttpRequest.newBuilder(uri)
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(product.toString()))
+                    .build();
+            
+            permits.acquire();
+            CompletableFuture<HttpResponse<String>> response =
+                    httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString());
+            response.whenComplete((result, error) -> {
+                permits.release();
+                if (error != null || result.statusCode() != 201) {
+                    failures.incrementAndGet();
+                    return;
+                }
+                try {
+                    long id = objectMapper.readTree(result.body()).path("id").asLong();
+                    minId.accumulateAndGet(id, Math::min);
+                    maxId.accumulateAndGet(id, Math::max);
+                } catch (IOException e) {
+                    failures.incrementAndGet();
+                }
+            });
+        }
+        permits.acquire(concurrency);
+        
+        if (failures.get() > 0) {
+            throw new IllegalStateException(failures.get() + " of " + products + " products could not be created");
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        logger.info("{} products created in {} s ({} products/s)", products,
+                String.format(Locale.ROOT, "%.1f", seconds), Math.round(products / seconds));
+        return new ProductIds(minId.get(), maxId.get());
+    }
+}
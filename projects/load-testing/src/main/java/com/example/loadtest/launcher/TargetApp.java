@@ -0,0 +1,54 @@
+package com.example.loadtest.launcher;
+
+import com.example.loadtest.scenario.Operation;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+// The applications that can be load tested, with the operations each one supports
+public enum TargetApp {
+    
+    SIMPLE_REST_API("02-simple-rest-api", "simple-rest-api",
+            EnumSet.of(Operation.SEARCH, Operation.PRICE_RANGE, Operation.GET_BY_ID,
+                    Operation.CREATE, Operation.UPDATE),
+            List.of()),
+    
+    // SQL logging is turned off; at TRACE level it costs more than the queries themselves
+    DATABASE_INTEGRATION("03-database-integration", "database-integration",
+            EnumSet.allOf(Operation.class),
+            List.of("--spring.jpa.show-sql=false",
+                    "--logging.level.org.hibernate.SQL=INFO",
+                    "--logging.level.org.hibernate.type.descriptor.sql.BasicBinder=INFO"));
+    
+    private final String projectDirectory;
+    private final String artifactId;
+    private final Set<Operation> operations;
+    private final List<String> defaultArgs;
+    
+    TargetApp(String projectDirectory, String artifactId, Set<Operation> operations, List<String> defaultArgs) {
+        this.projectDirectory = projectDirectory;
+        this.artifactId = artifactId;
+        this.operations = operations;
+        this.defaultArgs = defaultArgs;
+    }
+    
+    // Jar built by "mvn package" in the project, relative to the load-testing directory
+    public Path defaultJar() {
+        return Paths.get("..", projectDirectory, "target", artifactId + "-0.0.1-SNAPSHOT.jar");
+    }
+    
+    public String getArtifactId() {
+        return artifactId;
+    }
+    
+    public boolean supports(Operation operation) {
+        return operations.contains(operation);
+    }
+    
+    public List<String> getDefaultArgs() {
+        return defaultArgs;
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.loadtest.report;
+
+import java.util.Arrays;
+
+// Collects the latencies of one operation. All values are kept, so percentiles are exact
+// (a one minute run at a few thousand requests per second needs only a few MB).
+public class LatencyRecorder {
+    
+    private long[] latencies = new long[1024];
+    private int count;
+    private long errors;
+    private boolean sorted = true;
+    
+    public synchronized void record(long latencyNanos) {
+        if (count == latencies.length) {
+            latencies = Arrays.copyOf(latencies, count * 2);
+        }
+        if (count > 0 && latencyNanos < latencies[count - 1]) {
+            sorted = false;
+        }
+        latencies[count++] = latencyNanos;
+    }
+    
+    // A failed, timed out or dropped request
+    public synchronized void recordError() {
+        errors++;
+    }
+    
+    // Adds all values of another recorder (used for the overall statistics)
+    public synchronized void add(LatencyRecorder other) {
+        long[] values;
+        long otherErrors;
+        synchronized (other) {
+            values = Arrays.copyOf(other.latencies, other.count);
+            otherErrors = other.errors;
+        }
+        for (long value : values) {
+            record(value);
+        }
+        errors += otherErrors;
+    }
+    
+    // Number of successful requests
+    public synchronized int getCount() {
+        return count;
+    }
+    
+    public synchronized long getErrors() {
+        return errors;
+    }
+    
+    // Latency at the given percentile (0-100) using the nearest-rank method, or 0 without values
+    public synchronized long percentile(double percentile) {
+        if (count == 0) {
+            return 0;
+        }
+        if (!sorted) {
+            Arrays.sort(latencies, 0, count);
+            sorted = true;
+        }
+        // The small offset keeps rounding errors (99.9 / 100 * 10000 = 9990.000000000002) from skipping a rank
+        int rank = (int) Math.ceil(percentile / 100 * count - 1e-9);
+        return latencies[Math.min(Math.max(rank, 1), count) - 1];
+    }
+    
+    public synchronized long max() {
+        return percentile(100);
+    }
+    
+    public synchronized double mean() {
+        if (count == 0) {
+            return 0;
+        }
+        double sum = 0;
+        for (int i = 0; i < count; i++) {
+            sum += latencies[i];
+        }
+        return sum / count;
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.loadtest.report;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Everything a run measured; written as JSON so later runs can use it as their baseline
+@Data
+@NoArgsConstructor
+public class LoadTestReport {
+    
+    private String target;
+    
+    private String startedAt;
+    
+    private int seedProducts;
+    
+    private double arrivalRate;
+    
+    private double durationSeconds;
+    
+    private OperationStats overall;
+    
+    // Keyed by operation name, e.g. "SEARCH"
+    private Map<String, OperationStats> operations = new LinkedHashMap<>();
+    
+    private List<SloCheck> checks = new ArrayList<>();
+    
+    private boolean passed;
+}
@@ -0,0 +1,45 @@
+package com.example.loadtest.report;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Duration;
+
+// Summary of the measured requests of one operation (or of all requests), latencies in milliseconds
+@Data
+@NoArgsConstructor
+public class OperationStats {
+    
+    private long requests;
+    
+    private long errors;
+    
+    private double errorRate;
+    
+    // Successful requests per second
+    private double throughput;
+    
+    private double meanMs;
+    
+    private double p50Ms;
+    
+    private double p99Ms;
+    
+    private double p999Ms;
+    
+    private double maxMs;
+    
+    public static OperationStats of(LatencyRecorder recorder, Duration measured) {
+        OperationStats stats = new OperationStats();
+        stats.requests = recorder.getCount() + recorder.getErrors();
+        stats.errors = recorder.getErrors();
+        stats.errorRate = stats.requests == 0 ? 0 : (double) stats.errors / stats.requests;
+        stats.throughput = recorder.getCount() / (measured.toNanos() / 1e9);
+        stats.meanMs = recorder.mean() / 1e6;
+        stats.p50Ms = recorder.percentile(50) / 1e6;
+        stats.p99Ms = recorder.percentile(99) / 1e6;
+        stats.p999Ms = recorder.percentile(99.9) / 1e6;
+        stats.maxMs = recorder.max() / 1e6;
+        return stats;
+    }
+}
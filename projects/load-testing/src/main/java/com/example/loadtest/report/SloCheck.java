@@ -0,0 +1,21 @@
+package com.example.loadtest.report;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Result of comparing one measured value with its limit
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SloCheck {
+    
+    // e.g. "overall p99 (ms)" or "search throughput vs baseline (req/s)"
+    private String name;
+    
+    private double limit;
+    
+    private double actual;
+    
+    private boolean passed;
+}
@@ -0,0 +1,85 @@
+package com.example.loadtest.report;
+
+import com.example.loadtest.config.LoadTestProperties.Slo;
+import com.example.loadtest.scenario.Operation;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+// Checks a report against the configured SLOs and, if given, against the report of an earlier build
+public class SloEvaluator {
+    
+    private final Slo slo;
+    private final Map<Operation, Slo> operationSlo;
+    private final double maxRegression;
+    
+    public SloEvaluator(Slo slo, Map<Operation, Slo> operationSlo, double maxRegression) {
+        this.slo = slo;
+        this.operationSlo = operationSlo;
+        this.maxRegression = maxRegression;
+    }
+    
+    public List<SloCheck> evaluate(LoadTestReport report, LoadTestReport baseline) {
+        List<SloCheck> checks = new ArrayList<>();
+        check(checks, "overall", slo, report.getOverall());
+        
+        for (Map.Entry<Operation, Slo> entry : operationSlo.entrySet()) {
+            OperationStats stats = report.getOperations().get(entry.getKey().name());
+            if (stats != null) {
+                check(checks, label(entry.getKey().name()), entry.getValue(), stats);
+            }
+        }
+        
+        if (baseline != null) {
+            compare(checks, "overall", baseline.getOverall(), report.getOverall());
+            for (Map.Entry<String, OperationStats> entry : report.getOperations().entrySet()) {
+                OperationStats previous = baseline.getOperations().get(entry.getKey());
+                if (previous != null) {
+                    compare(checks, label(entry.getKey()), previous, entry.getValue());
+                }
+            }
+        }
+        return checks;
+    }
+    
+    private void check(List<SloCheck> checks, String name, Slo slo, OperationStats stats) {
+        atMost(checks, name + " p50 (ms)", millis(slo.getP50()), stats.getP50Ms());
+        atMost(checks, name + " p99 (ms)", millis(slo.getP99()), stats.getP99Ms());
+        atMost(checks, name + " p99.9 (ms)", millis(slo.getP999()), stats.getP999Ms());
+        atMost(checks, name + " error rate", slo.getMaxErrorRate(), stats.getErrorRate());
+        if (slo.getMinThroughput() != null) {
+            checks.add(atLeast(name + " throughput (req/s)", slo.getMinThroughput(), stats.getThroughput()));
+        }
+    }
+    
+    // Fail if p99 got slower or throughput dropped by more than maxRegression
+    private void compare(List<SloCheck> checks, String name, OperationStats previous, OperationStats current) {
+        if (previous == null || current == null) {
+            return;
+        }
+        atMost(checks, name + " p99 vs baseline (ms)", previous.getP99Ms() * (1 + maxRegression), current.getP99Ms());
+        checks.add(atLeast(name + " throughput vs baseline (req/s)",
+                previous.getThroughput() * (1 - maxRegression), current.getThroughput()));
+    }
+    
+    private static void atMost(List<SloCheck> checks, String name, Double limit, double actual) {
+        if (limit != null) {
+            checks.add(new SloCheck(name, limit, actual, actual <= limit));
+        }
+    }
+    
+    private static SloCheck atLeast(String name, double limit, double actual) {
+        return new SloCheck(name, limit, actual, actual >= limit);
+    }
+    
+    private static Double millis(Duration duration) {
+        return duration == null ? null : duration.toNanos() / 1e6;
+    }
+    
+    private static String label(String operation) {
+        return operation.toLowerCase(Locale.ROOT).replace('_', '-');
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.loadtest.scenario;
+
+import java.util.Random;
+
+// Value ranges of seeded and created products. Prices and stock are uniform, so the
+// selectivity of price range and low stock queries follows from the catalog size.
+public final class CatalogPricing {
+    
+    public static final double MIN = 1.0;
+    public static final double RANGE = 999.0;
+    public static final int MAX_STOCK = 1000;
+    
+    private CatalogPricing() {
+    }
+    
+    // A price between 1.00 and 1000.00 with two decimals
+    public static double price(Random random) {
+        return Math.round((MIN + random.nextDouble() * RANGE) * 100) / 100.0;
+    }
+    
+    public static int stockQuantity(Random random) {
+        return random.nextInt(MAX_STOCK);
+    }
+}
@@ -0,0 +1,144 @@
+package com.example.loadtest.scenario;
+
+import com.example.loadtest.report.LatencyRecorder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+// Sends requests at a fixed average arrival rate (an open workload model): new requests start on
+// schedule whether or not earlier ones have finished, like independent users would send them.
+// Arrival gaps are exponentially distributed (Poisson arrivals). Latency is measured from the time
+// a request was scheduled, not from when it was actually sent, so a stalled server or load
+// generator shows up in the percentiles instead of silently lowering the request rate.
+public class OpenModelDriver {
+    
+    private static final Logger logger = LoggerFactory.getLogger(OpenModelDriver.class);
+    
+    private final HttpClient httpClient;
+    private final OperationMix mix;
+    private final RequestFactory requestFactory;
+    private final ProductIds productIds;
+    private final ObjectMapper objectMapper;
+    
+    public OpenModelDriver(HttpClient httpClient, OperationMix mix, RequestFactory requestFactory,
+                           ProductIds productIds, ObjectMapper objectMapper) {
+        this.httpClient = httpClient;
+        this.mix = mix;
+        this.requestFactory = requestFactory;
+        this.productIds = productIds;
+        this.objectMapper = objectMapper;
+    }
+    
+    // Runs warmup followed by the measured period and returns the latencies of the measured requests
+    public Map<Operation, LatencyRecorder> run(double arrivalRate, Duration warmup, Duration duration,
+                                               int maxInFlight, long randomSeed, Duration requestTimeout)
+            throws InterruptedException {
+        
+        Map<Operation, LatencyRecorder> recorders = new EnumMap<>(Operation.class);
+        for (Operation operation : mix.getOperations()) {
+            recorders.put(operation, new LatencyRecorder());
+        }
+        
+        Random random = new Random(randomSeed);
+        Semaphore inFlight = new Semaphore(maxInFlight);
+        AtomicLong dropped = new AtomicLong();
+        double meanGapNanos = 1e9 / arrivalRate;
+        
+        long start = System.nanoTime();
+        long measureFrom = start + warmup.toNanos();
+        long end = measureFrom + duration.toNanos();
+        long scheduled = start;
+        
+        while (true) {
+            scheduled += (long) (-Math.log(1 - random.nextDouble()) * meanGapNanos);
+            if (scheduled >= end) {
+                break;
+            }
+            
+            // Build the request before waiting so it does not delay the send
+            Operation operation = mix.next(random);
+            HttpRequest request = requestFactory.create(operation, random);
+            waitUntil(scheduled);
+            
+            LatencyRecorder recorder = scheduled >= measureFrom ? recorders.get(operation) : null;
+            if (!inFlight.tryAcquire()) {
+                dropped.incrementAndGet();
+                if (recorder != null) {
+                    recorder.recordError();
+                }
+                continue;
+            }
+            
+            long scheduledAt = scheduled;
+            send(operation, request).whenComplete((response, error) -> {
+                long latency = System.nanoTime() - scheduledAt;
+                inFlight.release();
+                
+                boolean success = error == null && response.statusCode() / 100 == 2;
+                if (success && operation == Operation.CREATE) {
+                    rememberCreatedProduct((String) response.body());
+                }
+                if (recorder != null) {
+                    if (success) {
+                        recorder.record(latency);
+                    } else {
+                        recorder.recordError();
+                    }
+                }
+            });
+        }
+        
+        // Let outstanding requests finish; the HTTP client times out anything slower
+        long waitMillis = requestTimeout.toMillis() + 5000;
+        if (!inFlight.tryAcquire(maxInFlight, waitMillis, TimeUnit.MILLISECONDS)) {
+            logger.warn("Requests still outstanding {} ms after the test ended", waitMillis);
+        }
+        if (dropped.get() > 0) {
+            logger.warn("{} requests were dropped because {} requests were already outstanding",
+                    dropped.get(), maxInFlight);
+        }
+        return Collections.unmodifiableMap(recorders);
+    }
+    
+    // Creates need their response body for the new id, other responses are discarded
+    private CompletableFuture<? extends HttpResponse<?>> send(Operation operation, HttpRequest request) {
+        if (operation == Operation.CREATE) {
+            return httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString());
+        }
+        return httpClient.sendAsync(request, HttpResponse.BodyHandlers.discarding());
+    }
+    
+    // New products become candidates for reads and updates
+    private void rememberCreatedProduct(String body) {
+        try {
+            long id = objectMapper.readTree(body).path("id").asLong(0);
+            if (id > 0) {
+                productIds.add(id);
+            }
+        } catch (IOException e) {
+            logger.debug("Could not read the id of a created product", e);
+        }
+    }
+    
+    private static void waitUntil(long nanoTime) {
+        long remaining;
+        while ((remaining = nanoTime - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(remaining);
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.loadtest.scenario;
+
+// The kinds of requests a load test sends (see RequestFactory for the exact calls)
+public enum Operation {
+    
+    // GET /api/products/search?name=...
+    SEARCH(false),
+    
+    // GET /api/products/page?page=...&size=...&sortBy=...
+    PAGE(false),
+    
+    // GET /api/products/price-range?min=...&max=...
+    PRICE_RANGE(false),
+    
+    // GET /api/products/low-stock?threshold=...
+    LOW_STOCK(false),
+    
+    // GET /api/products/{id}
+    GET_BY_ID(false),
+    
+    // POST /api/products
+    CREATE(true),
+    
+    // PATCH /api/products/{id} with a JSON Merge Patch
+    UPDATE(true);
+    
+    private final boolean write;
+    
+    Operation(boolean write) {
+        this.write = write;
+    }
+    
+    public boolean isWrite() {
+        return write;
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.loadtest.scenario;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.Predicate;
+
+// Picks operations at random according to their relative weights
+public class OperationMix {
+    
+    private final Operation[] operations;
+    private final int[] cumulativeWeights;
+    
+    // Operations rejected by the filter or with a weight of 0 are left out.
+    // Without any weights every accepted operation gets the same share.
+    public OperationMix(Map<Operation, Integer> weights, Predicate<Operation> filter) {
+        List<Operation> selected = new ArrayList<>();
+        List<Integer> cumulative = new ArrayList<>();
+        int total = 0;
+        for (Operation operation : Operation.values()) {
+            int weight = weights.isEmpty() ? 1 : weights.getOrDefault(operation, 0);
+            if (weight > 0 && filter.test(operation)) {
+                total += weight;
+                selected.add(operation);
+                cumulative.add(total);
+            }
+        }
+        if (selected.isEmpty()) {
+            throw new IllegalArgumentException("The operation mix contains no operation the target supports");
+        }
+        
+        this.operations = selected.toArray(new Operation[0]);
+        this.cumulativeWeights = cumulative.stream().mapToInt(Integer::intValue).toArray();
+    }
+    
+    public Operation next(Random random) {
+        int value = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (value < cumulativeWeights[i]) {
+                return operations[i];
+            }
+        }
+        throw new IllegalStateException("Unreachable");
+    }
+    
+    public List<Operation> getOperations() {
+        return List.of(operations);
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.loadtest.scenario;
+
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Range of product ids known to exist; products created during the test extend it
+public class ProductIds {
+    
+    private final long min;
+    private final AtomicLong max;
+    
+    public ProductIds(long min, long max) {
+        if (max < min) {
+            throw new IllegalArgumentException("No products to test with (id range " + min + ".." + max + ")");
+        }
+        this.min = min;
+        this.max = new AtomicLong(max);
+    }
+    
+    public long random(Random random) {
+        long range = max.get() - min + 1;
+        return min + (long) (random.nextDouble() * range);
+    }
+    
+    public void add(long id) {
+        max.accumulateAndGet(id, Math::max);
+    }
+    
+    public long getMin() {
+        return min;
+    }
+    
+    public long getMax() {
+        return max.get();
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.loadtest.scenario;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Builds the HTTP request for an operation. Parameters are chosen so that each read returns
+// a small result from the seeded catalog (see CatalogSeeder for how products are named and priced).
+public class RequestFactory {
+    
+    public static final String MERGE_PATCH_JSON = "application/merge-patch+json";
+    
+    // Average number of products returned by a price range query
+    private static final int PRICE_RANGE_RESULTS = 50;
+    
+    private static final int PAGE_SIZE = 20;
+    private static final int MAX_PAGE = 100;
+    private static final String[] SORT_FIELDS = {"id", "name", "price"};
+    private static final int LOW_STOCK_THRESHOLD = 2;
+    
+    private final URI baseUri;
+    private final int catalogSize;
+    private final ProductIds productIds;
+    private final Duration timeout;
+    private final ObjectMapper objectMapper;
+    private final AtomicLong createdProducts = new AtomicLong();
+    
+    public RequestFactory(URI baseUri, int catalogSize, ProductIds productIds, Duration timeout,
+                          ObjectMapper objectMapper) {
+        this.baseUri = baseUri;
+        this.catalogSize = Math.max(catalogSize, 1);
+        this.productIds = productIds;
+        this.timeout = timeout;
+        this.objectMapper = objectMapper;
+    }
+    
+    public HttpRequest create(Operation operation, Random random) {
+        switch (operation) {
+            case SEARCH:
+                // Seeded names are "Item <n>", so this matches item n and the few items whose number starts with n
+                String name = "Item " + (1 + random.nextInt(catalogSize));
+                return get("/api/products/search?name=" + URLEncoder.encode(name, StandardCharsets.UTF_8));
+            case PAGE:
+                return get(String.format(Locale.ROOT, "/api/products/page?page=%d&size=%d&sortBy=%s&direction=%s",
+                        random.nextInt(MAX_PAGE), PAGE_SIZE, SORT_FIELDS[random.nextInt(SORT_FIELDS.length)],
+                        random.nextBoolean() ? "asc" : "desc"));
+            case PRICE_RANGE:
+                double width = Math.min(CatalogPricing.RANGE * PRICE_RANGE_RESULTS / catalogSize, CatalogPricing.RANGE);
+                double min = CatalogPricing.MIN + random.nextDouble() * (CatalogPricing.RANGE - width);
+                return get(String.format(Locale.ROOT, "/api/products/price-range?min=%.2f&max=%.2f", min, min + width));
+            case LOW_STOCK:
+                return get("/api/products/low-stock?threshold=" + LOW_STOCK_THRESHOLD);
+            case GET_BY_ID:
+                return get("/api/products/" + productIds.random(random));
+            case CREATE:
+                ObjectNode product = objectMapper.createObjectNode()
+                        .put("name", "Load test item " + createdProducts.incrementAndGet())
+                        .put("description", "Created during a load test")
+                        .put("price", CatalogPricing.price(random))
+                        .put("stockQuantity", CatalogPricing.stockQuantity(random));
+                return HttpRequest.newBuilder(uri("/api/products"))
+                        .timeout(timeout)
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(product.toString()))
+                        .build();
+            case UPDATE:
+                // The simple API ignores stockQuantity, the database API updates both columns
+                ObjectNode patch = objectMapper.createObjectNode()
+                        .put("price", CatalogPricing.price(random))
+                        .put("stockQuantity", CatalogPricing.stockQuantity(random));
+                return HttpRequest.newBuilder(uri("/api/products/" + productIds.random(random)))
+                        .timeout(timeout)
+                        .header("Content-Type", MERGE_PATCH_JSON)
+                        .method("PATCH", HttpRequest.BodyPublishers.ofString(patch.toString()))
+                        .build();
+            default:
+                throw new IllegalArgumentException("Unknown operation: " + operation);
+        }
+    }
+    
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(uri(path)).timeout(timeout).GET().build();
+    }
+    
+    private URI uri(String path) {
+        return baseUri.resolve(path);
+    }
+}
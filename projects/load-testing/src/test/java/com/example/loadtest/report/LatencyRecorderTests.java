@@ -0,0 +1,64 @@
+package com.example.loadtest.report;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+public class LatencyRecorderTests {
+    
+    @Test
+    public void testNearestRankPercentiles() {
+        LatencyRecorder recorder = new LatencyRecorder();
+        // Record 1..10000 ms in reverse so the recorder has to sort
+        for (long millis = 10_000; millis >= 1; millis--) {
+            recorder.record(Duration.ofMillis(millis).toNanos());
+        }
+        
+        assertThat(recorder.getCount()).isEqualTo(10_000);
+        assertThat(recorder.percentile(50)).isEqualTo(Duration.ofMillis(5000).toNanos());
+        assertThat(recorder.percentile(99)).isEqualTo(Duration.ofMillis(9900).toNanos());
+        assertThat(recorder.percentile(99.9)).isEqualTo(Duration.ofMillis(9990).toNanos());
+        assertThat(recorder.max()).isEqualTo(Duration.ofMillis(10_000).toNanos());
+        
+        // Values recorded after a percentile was read are still included
+        recorder.record(Duration.ofMillis(20_000).toNanos());
+        assertThat(recorder.max()).isEqualTo(Duration.ofMillis(20_000).toNanos());
+    }
+    
+    @Test
+    public void testStatsCountErrorsAndThroughput() {
+        LatencyRecorder search = new LatencyRecorder();
+        LatencyRecorder create = new LatencyRecorder();
+        for (int i = 0; i < 90; i++) {
+            search.record(Duration.ofMillis(2).toNanos());
+        }
+        create.record(Duration.ofMillis(10).toNanos());
+        for (int i = 0; i < 9; i++) {
+            create.recordError();
+        }
+        
+        LatencyRecorder overall = new LatencyRecorder();
+        overall.add(search);
+        overall.add(create);
+        OperationStats stats = OperationStats.of(overall, Duration.ofSeconds(10));
+        
+        assertThat(stats.getRequests()).isEqualTo(100);
+        assertThat(stats.getErrors()).isEqualTo(9);
+        assertThat(stats.getErrorRate()).isCloseTo(0.09, within(1e-9));
+        assertThat(stats.getThroughput()).isCloseTo(9.1, within(1e-9));
+        assertThat(stats.getP50Ms()).isCloseTo(2.0, within(1e-9));
+        assertThat(stats.getMaxMs()).isCloseTo(10.0, within(1e-9));
+    }
+    
+    @Test
+    public void testEmptyRecorder() {
+        OperationStats stats = OperationStats.of(new LatencyRecorder(), Duration.ofSeconds(1));
+        
+        assertThat(stats.getRequests()).isZero();
+        assertThat(stats.getErrorRate()).isZero();
+        assertThat(stats.getP99Ms()).isZero();
+    }
+}
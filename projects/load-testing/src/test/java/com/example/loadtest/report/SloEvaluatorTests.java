@@ -0,0 +1,68 @@
+package com.example.loadtest.report;
+
+import com.example.loadtest.config.LoadTestProperties.Slo;
+import com.example.loadtest.scenario.Operation;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SloEvaluatorTests {
+    
+    @Test
+    public void testOverallAndOperationThresholds() {
+        Slo slo = new Slo();
+        slo.setP50(Duration.ofMillis(5));
+        slo.setP99(Duration.ofMillis(50));
+        slo.setMaxErrorRate(0.01);
+        
+        Slo searchSlo = new Slo();
+        searchSlo.setP99(Duration.ofMillis(20));
+        searchSlo.setMinThroughput(100.0);
+        
+        LoadTestReport report = report(stats(4, 40, 0.0, 500), Map.of("SEARCH", stats(3, 30, 0.0, 80)));
+        List<SloCheck> checks = new SloEvaluator(slo, Map.of(Operation.SEARCH, searchSlo), 0.2)
+                .evaluate(report, null);
+        
+        // Unset limits (p99.9, overall throughput) are not checked
+        assertThat(checks).extracting(SloCheck::getName).containsExactly(
+                "overall p50 (ms)", "overall p99 (ms)", "overall error rate",
+                "search p99 (ms)", "search throughput (req/s)");
+        assertThat(checks).filteredOn(check -> !check.isPassed())
+                .extracting(SloCheck::getName)
+                .containsExactly("search p99 (ms)", "search throughput (req/s)");
+    }
+    
+    @Test
+    public void testBaselineRegression() {
+        LoadTestReport baseline = report(stats(4, 40, 0.0, 500), Map.of("SEARCH", stats(3, 30, 0.0, 100)));
+        // Overall p99 is 10% slower (allowed), search p99 is 50% slower (not allowed)
+        LoadTestReport current = report(stats(4, 44, 0.0, 490), Map.of("SEARCH", stats(3, 45, 0.0, 100)));
+        
+        List<SloCheck> checks = new SloEvaluator(new Slo(), Map.of(), 0.2).evaluate(current, baseline);
+        
+        assertThat(checks).hasSize(4);
+        assertThat(checks).filteredOn(check -> !check.isPassed())
+                .extracting(SloCheck::getName)
+                .containsExactly("search p99 vs baseline (ms)");
+    }
+    
+    private static LoadTestReport report(OperationStats overall, Map<String, OperationStats> operations) {
+        LoadTestReport report = new LoadTestReport();
+        report.setOverall(overall);
+        report.getOperations().putAll(operations);
+        return report;
+    }
+    
+    private static OperationStats stats(double p50Ms, double p99Ms, double errorRate, double throughput) {
+        OperationStats stats = new OperationStats();
+        stats.setP50Ms(p50Ms);
+        stats.setP99Ms(p99Ms);
+        stats.setErrorRate(errorRate);
+        stats.setThroughput(throughput);
+        return stats;
+    }
+}